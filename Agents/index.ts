@@ -4,7 +4,7 @@ import InventoryMonitoringAgent from "./InventoryMonitoring/InventoryAgent";
 import PriceOptimizationAgent from "./priceOptimization/priceOptimization";
 
 const app = express();
-app.use(express.json());
+app.use(express.json({ limit: "1mb" }));
 app.use(express.urlencoded({ extended: true }));
 
 app.post("/forecast", async (req: Request, res: Response): Promise<void> => {
@@ -61,6 +61,35 @@ app.post(
   }
 );
 
+// Batched protocol: {"queries": [...]} -> {"results": [...]} in the same order.
+// A failed query yields {"error": ...} in its slot without failing the rest.
+const batchRoute =
+  (agent: (query: string) => Promise<unknown>) =>
+  async (req: Request, res: Response): Promise<void> => {
+    const queries: unknown = req.body.queries;
+    if (!Array.isArray(queries) || queries.length === 0) {
+      res.status(400).json({ error: "A non-empty queries array is required." });
+      return;
+    }
+    const results = await Promise.all(
+      queries.map(async (query) => {
+        if (typeof query !== "string" || !query) {
+          return { error: "User query is required." };
+        }
+        try {
+          return await agent(query);
+        } catch (error) {
+          return { error: "An error occurred while processing your request." };
+        }
+      })
+    );
+    res.json({ results });
+  };
+
+app.post("/forecast/batch", batchRoute(ForecastingAgent));
+app.post("/inventory/batch", batchRoute(InventoryMonitoringAgent));
+app.post("/priceOptimization/batch", batchRoute(PriceOptimizationAgent));
+
 app.get("/", (req: Request, res: Response) => {
   res.send("Welcome to the Demand Forecasting API!");
 });
@@ -0,0 +1,61 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.repository.DemandSeriesReader;
+import com.Multi_Agent.Retail_Inventory.service.DemandSeriesStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog-wide window aggregates (moving average and trend slope of every key) from the columnar
+ * {@link DemandSeriesStore}, filled from a synthetic reader with monthly history per key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DemandSeriesBenchmark {
+
+    @Param({"100000"})
+    public int keys;
+
+    @Param({"24"})
+    public int months;
+
+    private DemandSeriesStore store;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        store = new DemandSeriesStore();
+        inject("enabled", true);
+        inject("demandSeriesReader", new DemandSeriesReader() {
+            @Override
+            public long readAfter(long afterId, PointSink sink) {
+                Random random = new Random(42);
+                for (int month = 0; month < months; month++) {
+                    for (int key = 0; key < keys; key++) {
+                        sink.accept("P" + key / 10, "S" + key % 10, 19_000 + 30 * month, 100 + random.nextInt(50), 9.99);
+                    }
+                }
+                return (long) keys * months;
+            }
+        });
+        store.refresh();
+    }
+
+    // The store is normally wired by Spring
+    private void inject(String field, Object value) throws ReflectiveOperationException {
+        Field target = DemandSeriesStore.class.getDeclaredField(field);
+        target.setAccessible(true);
+        target.set(store, value);
+    }
+
+    @Benchmark
+    public DemandSeriesStore.WindowAggregates aggregateWindow12() {
+        return store.aggregate(12);
+    }
+}
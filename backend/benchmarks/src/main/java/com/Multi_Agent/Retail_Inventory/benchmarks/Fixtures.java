@@ -0,0 +1,75 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Representative rows and agent responses, shaped like the sample data and the agents' actual output.
+ */
+final class Fixtures {
+
+    // Responses of the forecast, inventory and priceOptimization agents, as documented in their prompts
+    static final String FORECAST_RESPONSE = """
+            {"forecast":{"product_id":"P1042","store_id":"S12","month":"October","predicted_demand":412,
+              "confidence_interval":[380,445],"method_used":"Seasonal trend analysis with promotion uplift"}}""";
+    static final String REORDER_RESPONSE = """
+            {"reorder_prediction":{"product_id":"P1042","store_id":"S12","recommended_order":260,
+              "justification":"Stock of 150 units covers only 36% of predicted sales; lead time of 7 days and 3 stockouts last quarter call for a buffer."}}""";
+    static final String PRICING_RESPONSE = """
+            {"prediction":{"product_id":"P1042","store_id":"S12","current_price":49.99,"suggested_price":52.49,
+              "projected_profit_margin":"18%","strategy_alignment":"Aligned with increase strategy given low elasticity",
+              "risk_level":"Low"}}""";
+
+    private Fixtures() {
+    }
+
+    static Demand demand(int i) {
+        Demand demand = new Demand();
+        demand.setId((long) i);
+        demand.setProductId("P" + (1000 + i % 500));
+        demand.setStoreId("S" + (10 + i % 20));
+        demand.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        demand.setSalesQuantity(120 + i % 80);
+        demand.setPrice(49.99);
+        demand.setPromotions("Yes");
+        demand.setSeasonalityFactors("Festival");
+        demand.setExternalFactors("Competitor Pricing");
+        demand.setDemandTrend("Increasing");
+        demand.setCustomerSegments("Regular");
+        return demand;
+    }
+
+    static Inventory inventory(int i) {
+        Inventory inventory = new Inventory();
+        inventory.setId((long) i);
+        inventory.setProductId("P" + (1000 + i % 500));
+        inventory.setStoreId("S" + (10 + i % 20));
+        inventory.setStockLevels(150 + i % 100);
+        inventory.setSupplierLeadTime(7);
+        inventory.setStockoutFrequency(3);
+        inventory.setReorderPoint(100);
+        inventory.setExpiryDate(LocalDate.of(2025, 6, 30));
+        inventory.setWarehouseCapacity(1000);
+        inventory.setOrderFulfillmentTime(4);
+        return inventory;
+    }
+
+    static Pricing pricing(int i) {
+        Pricing pricing = new Pricing();
+        pricing.setId((long) i);
+        pricing.setProductId("P" + (1000 + i % 500));
+        pricing.setStoreId("S" + (10 + i % 20));
+        pricing.setPrice(49.99);
+        pricing.setCompetitorPrices(51.25);
+        pricing.setDiscounts(5.0);
+        pricing.setSalesVolume(320);
+        pricing.setCustomerReviews(4);
+        pricing.setReturnRate(2.5);
+        pricing.setStorageCost(1.2);
+        pricing.setElasticityIndex(1.8);
+        return pricing;
+    }
+}
@@ -0,0 +1,48 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.service.AgentResponses;
+import com.Multi_Agent.Retail_Inventory.service.HoltForecaster;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process Holt forecast of one key, from its Demand history rows to the forecast section: what
+ * a key routed away from the forecast agent costs instead of an agent round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastBenchmark {
+
+    /** Months of history per key. */
+    @Param({"12", "36"})
+    public int months;
+
+    private List<Demand> history;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        history = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            Demand demand = Fixtures.demand(i);
+            demand.setDate(LocalDate.of(2022, 1, 1).plusMonths(i));
+            demand.setSalesQuantity(400 + 5 * i + random.nextInt(40));
+            history.add(demand);
+        }
+    }
+
+    @Benchmark
+    public AgentResponses.Forecast holt() {
+        return HoltForecaster.fit(HoltForecaster.series(history)).toForecast();
+    }
+}
@@ -0,0 +1,107 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.service.AgentClient;
+import com.Multi_Agent.Retail_Inventory.service.AgentPrompts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the agent queries and the JSON request bodies that carry them: the compiled prompt templates
+ * against {@link String#format} with the same patterns, and the streaming escaped request body against
+ * the old unescaped {@code String.format} body and Jackson. Run with {@code -prof gc} for allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+
+    private Demand demand;
+    private Inventory inventory;
+    private Pricing pricing;
+    private String query;
+
+    @Setup
+    public void setUp() {
+        demand = Fixtures.demand(42);
+        inventory = Fixtures.inventory(42);
+        pricing = Fixtures.pricing(42);
+        query = AgentPrompts.sales(demand, "October");
+    }
+
+    @Benchmark
+    public String salesPrompt() {
+        return AgentPrompts.sales(demand, "October");
+    }
+
+    @Benchmark
+    public String salesPromptFormat() {
+        return String.format(AgentPrompts.SALES_PATTERN,
+                demand.getProductId(), demand.getStoreId(), demand.getSalesQuantity(),
+                demand.getPrice(), demand.getPromotions(), demand.getSeasonalityFactors(),
+                demand.getExternalFactors(), demand.getDemandTrend(), demand.getCustomerSegments(), "October");
+    }
+
+    @Benchmark
+    public String reorderPrompt() {
+        return AgentPrompts.reorder(inventory, 412);
+    }
+
+    @Benchmark
+    public String reorderPromptFormat() {
+        return String.format(AgentPrompts.REORDER_PATTERN,
+                inventory.getProductId(), inventory.getStoreId(),
+                inventory.getSupplierLeadTime(), inventory.getStockoutFrequency(),
+                inventory.getReorderPoint(), inventory.getExpiryDate(),
+                inventory.getWarehouseCapacity(), inventory.getOrderFulfillmentTime(), 412);
+    }
+
+    @Benchmark
+    public String pricingPrompt() {
+        return AgentPrompts.pricing(pricing, "increase");
+    }
+
+    @Benchmark
+    public String pricingPromptFormat() {
+        return String.format(AgentPrompts.PRICING_PATTERN,
+                pricing.getProductId(), pricing.getStoreId(), pricing.getPrice(),
+                pricing.getCompetitorPrices(), pricing.getDiscounts(),
+                pricing.getSalesVolume(), pricing.getCustomerReviews(),
+                pricing.getReturnRate(), pricing.getStorageCost(), pricing.getElasticityIndex(), "increase");
+    }
+
+    @Benchmark
+    public int requestBody() throws Exception {
+        body.reset();
+        AgentClient.writeRequestBody(query, body);
+        return body.size();
+    }
+
+    // The body as it used to be built: not escaped, so any quote or newline in the query broke it
+    @Benchmark
+    public int requestBodyFormat() throws Exception {
+        body.reset();
+        body.write(String.format("{\"query\": \"%s\"}", query).getBytes(StandardCharsets.UTF_8));
+        return body.size();
+    }
+
+    @Benchmark
+    public int requestBodyJackson() throws Exception {
+        body.reset();
+        objectMapper.writeValue(body, Map.of("query", query));
+        return body.size();
+    }
+}
@@ -0,0 +1,134 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.RetailInventoryApplication;
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import com.Multi_Agent.Retail_Inventory.repository.InventoryMonitoringRepository;
+import com.Multi_Agent.Retail_Inventory.service.LatestSnapshotService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latest-row lookups through the real repositories, against an embedded PostgreSQL (started from the
+ * zonky binaries, no server or container needed) with the schema Hibernate generates for the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryLookupBenchmark {
+
+    private static final int KEYS = 2_000;
+    private static final int MULTI_KEY_LOOKUP = 100;
+
+    @Param({"10", "100"})
+    public int rowsPerKey;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private InventoryMonitoringRepository inventoryRepository;
+    private DemandForecastingRepository demandRepository;
+    private String[] productIds;
+    private String[] storeIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(RetailInventoryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=",
+                        "spring.jpa.show-sql=false",
+                        "agent.cache.enabled=false",
+                        "forecast.job.poll-interval-ms=3600000",
+                        "latest-snapshot.reconcile-interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        inventoryRepository = context.getBean(InventoryMonitoringRepository.class);
+        demandRepository = context.getBean(DemandForecastingRepository.class);
+
+        productIds = new String[KEYS];
+        storeIds = new String[KEYS];
+        for (int k = 0; k < KEYS; k++) {
+            productIds[k] = "P" + (1000 + k / 20);
+            storeIds[k] = "S" + (10 + k % 20);
+        }
+        seed(context.getBean(JdbcTemplate.class));
+        LatestSnapshotService latestSnapshotService = context.getBean(LatestSnapshotService.class);
+        latestSnapshotService.refresh(Demand.class, 0);
+        latestSnapshotService.refresh(Inventory.class, 0);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Integer> rows = IntStream.range(0, KEYS * rowsPerKey).boxed().toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO inventory (product_id, store_id, stock_levels, supplier_lead_time, stockout_frequency,
+                    reorder_point, expiry_date, warehouse_capacity, order_fulfillment_time)
+                VALUES (?, ?, ?, 7, 3, 100, DATE '2025-06-30', 1000, 4)""", rows, 1000, (ps, row) -> {
+            ps.setString(1, productIds[row % KEYS]);
+            ps.setString(2, storeIds[row % KEYS]);
+            ps.setInt(3, 100 + row % 200);
+        });
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO demand (product_id, store_id, date, sales_quantity, price, promotions,
+                    seasonality_factors, external_factors, demand_trend, customer_segments)
+                VALUES (?, ?, ?, ?, 49.99, 'Yes', 'Festival', 'Competitor Pricing', 'Increasing', 'Regular')""",
+                rows, 1000, (ps, row) -> {
+                    ps.setString(1, productIds[row % KEYS]);
+                    ps.setString(2, storeIds[row % KEYS]);
+                    ps.setDate(3, Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(row / KEYS)));
+                    ps.setInt(4, 120 + row % 80);
+                });
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Inventory findTopOrderByIdDesc() {
+        int k = ThreadLocalRandom.current().nextInt(KEYS);
+        return inventoryRepository.findTopByProductIdAndStoreIdOrderByIdDesc(productIds[k], storeIds[k]);
+    }
+
+    @Benchmark
+    public Inventory findLatest() {
+        int k = ThreadLocalRandom.current().nextInt(KEYS);
+        return inventoryRepository.findLatest(productIds[k], storeIds[k]);
+    }
+
+    @Benchmark
+    public List<Inventory> findLatestIn() {
+        int from = ThreadLocalRandom.current().nextInt(KEYS - MULTI_KEY_LOOKUP);
+        return inventoryRepository.findLatestIn(
+                Arrays.copyOfRange(productIds, from, from + MULTI_KEY_LOOKUP),
+                Arrays.copyOfRange(storeIds, from, from + MULTI_KEY_LOOKUP));
+    }
+
+    // One page of the forecasting job's scan
+    @Benchmark
+    public List<Demand> findLatestPerKeyPage() {
+        int k = ThreadLocalRandom.current().nextInt(KEYS);
+        return demandRepository.findLatestPerKeyAfter(productIds[k], storeIds[k], 1, 0, 500);
+    }
+}
@@ -0,0 +1,80 @@
+package com.Multi_Agent.Retail_Inventory.benchmarks;
+
+import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
+import com.Multi_Agent.Retail_Inventory.service.AgentResponses;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the three agent responses of one prediction into a {@link ProcessedForecastResult}: the
+ * original JSON-to-Map parsing with hand-cast lookups, against the streaming {@link AgentResponses}
+ * readers. Run with {@code -prof gc} to compare allocation per prediction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] forecast;
+    private byte[] reorder;
+    private byte[] pricing;
+
+    @Setup
+    public void setUp() {
+        forecast = Fixtures.FORECAST_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        reorder = Fixtures.REORDER_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        pricing = Fixtures.PRICING_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ProcessedForecastResult mapAndCast() throws Exception {
+        ProcessedForecastResult result = newResult();
+        Map<String, Object> forecastData = (Map<String, Object>) objectMapper.readValue(forecast, MAP).get("forecast");
+        result.setPredictedDemand((Integer) forecastData.get("predicted_demand"));
+        List<Integer> interval = (List<Integer>) forecastData.get("confidence_interval");
+        result.setLowerConfidence(interval.get(0));
+        result.setUpperConfidence(interval.get(1));
+        result.setForecastMethod((String) forecastData.get("method_used"));
+
+        Map<String, Object> reorderData = (Map<String, Object>) objectMapper.readValue(reorder, MAP).get("reorder_prediction");
+        result.setRecommendedOrder((Integer) reorderData.get("recommended_order"));
+        result.setReorderJustification((String) reorderData.get("justification"));
+
+        Map<String, Object> pricingData = (Map<String, Object>) objectMapper.readValue(pricing, MAP).get("prediction");
+        result.setCurrentPrice(((Number) pricingData.get("current_price")).doubleValue());
+        result.setSuggestedPrice(((Number) pricingData.get("suggested_price")).doubleValue());
+        result.setProjectedProfitMargin((String) pricingData.get("projected_profit_margin"));
+        result.setStrategyAlignment((String) pricingData.get("strategy_alignment"));
+        result.setRiskLevel((String) pricingData.get("risk_level"));
+        return result;
+    }
+
+    @Benchmark
+    public ProcessedForecastResult streamingTyped() {
+        ProcessedForecastResult result = newResult();
+        AgentResponses.read(forecast, AgentResponses.FORECAST).applyTo(result);
+        AgentResponses.read(reorder, AgentResponses.REORDER).applyTo(result);
+        AgentResponses.read(pricing, AgentResponses.PRICING).applyTo(result);
+        return result;
+    }
+
+    private static ProcessedForecastResult newResult() {
+        ProcessedForecastResult result = new ProcessedForecastResult();
+        result.setProductId("P1042");
+        result.setStoreId("S12");
+        result.setMonth("October");
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.Multi_Agent.Retail_Inventory.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-request latencies and outcomes. Latency is measured from the time a request was
+ * scheduled to be sent, not from when it was actually sent, so a saturated server is not hidden by
+ * the driver falling behind (coordinated omission).
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1 << 16];
+    private int count;
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder httpErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        (status >= 200 && status < 300 ? ok : httpErrors).increment();
+    }
+
+    synchronized void failed(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        failures.increment();
+    }
+
+    /** A request that was due but not sent because too many were already outstanding. */
+    void dropped() {
+        dropped.increment();
+    }
+
+    synchronized Map<String, Object> summary(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("ok", ok.sum());
+        summary.put("http_errors", httpErrors.sum());
+        summary.put("failures", failures.sum());
+        summary.put("dropped", dropped.sum());
+        summary.put("throughput_rps", count / elapsedSeconds);
+        summary.put("p50_ms", percentile(sorted, 0.50));
+        summary.put("p90_ms", percentile(sorted, 0.90));
+        summary.put("p99_ms", percentile(sorted, 0.99));
+        summary.put("p999_ms", percentile(sorted, 0.999));
+        summary.put("max_ms", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
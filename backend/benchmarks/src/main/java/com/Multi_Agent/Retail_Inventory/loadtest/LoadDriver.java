@@ -0,0 +1,191 @@
+package com.Multi_Agent.Retail_Inventory.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running backend at a fixed request rate and reports latency percentiles, throughput and
+ * database / connection-pool saturation (sampled from the actuator). Run the backend against
+ * {@link StubAgentServer} to take the real agents out of the measurement.
+ *
+ * <pre>
+ * --target=http://localhost:8080
+ * --scenario=predictions   POST /api/retail/all/predictions, one random product/store per request
+ *           =bulk          POST /api/demand/bulk, --bulk-rows NDJSON rows per request
+ *           =job           trigger a forecast run for --job-date and wait for it to finish
+ * --rps=20 --duration=60s  open-loop rate and length (predictions, bulk)
+ * --max-outstanding=5000   requests beyond this many in flight are counted as dropped
+ * --keys=2000              distinct product/store keys to draw from
+ * --report=target/loadtest-&lt;scenario&gt;.json
+ * </pre>
+ */
+public class LoadDriver {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Args args;
+    private final String target;
+    private final int keys;
+
+    LoadDriver(Args args) {
+        this.args = args;
+        this.target = args.string("target", "http://localhost:8080");
+        this.keys = args.integer("keys", 2000);
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = Args.parse(argv);
+        String scenario = args.string("scenario", "predictions");
+        Map<String, Object> report = new LoadDriver(args).run(scenario);
+        String json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        System.out.println(json);
+        Path file = Path.of(args.string("report", "target/loadtest-" + scenario + ".json"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, json);
+    }
+
+    Map<String, Object> run(String scenario) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("target", target);
+        try (SaturationSampler sampler = new SaturationSampler(client, target)) {
+            switch (scenario) {
+                case "predictions" -> report.putAll(openLoop(this::predictionRequest));
+                case "bulk" -> report.putAll(openLoop(this::bulkRequest));
+                case "job" -> report.putAll(job());
+                default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+            }
+            report.put("saturation", sampler.summary());
+        }
+        return report;
+    }
+
+    private Map<String, Object> openLoop(RequestFactory requests) throws InterruptedException {
+        double rps = args.decimal("rps", 20);
+        Duration duration = args.duration("duration", Duration.ofSeconds(60));
+        Semaphore outstanding = new Semaphore(args.integer("max-outstanding", 5000));
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long interval = (long) (1e9 / rps);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end; due += interval) {
+                LockSupport.parkNanos(due - System.nanoTime());
+                if (!outstanding.tryAcquire()) {
+                    recorder.dropped();
+                    continue;
+                }
+                long scheduled = due;
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(requests.next(), HttpResponse.BodyHandlers.discarding());
+                        recorder.record(System.nanoTime() - scheduled, response.statusCode());
+                    } catch (Exception e) {
+                        recorder.failed(System.nanoTime() - scheduled);
+                    } finally {
+                        outstanding.release();
+                    }
+                });
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("target_rps", rps);
+        result.putAll(recorder.summary((System.nanoTime() - start) / 1e9));
+        return result;
+    }
+
+    private HttpRequest predictionRequest() throws IOException {
+        int k = ThreadLocalRandom.current().nextInt(keys);
+        return HttpRequest.newBuilder(URI.create(target + "/api/retail/all/predictions?month=October&strategy=increase"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(5))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(demandRow(k))))
+                .build();
+    }
+
+    private HttpRequest bulkRequest() throws IOException {
+        int rows = args.integer("bulk-rows", 1000);
+        StringBuilder body = new StringBuilder(rows * 300);
+        for (int i = 0; i < rows; i++) {
+            body.append(objectMapper.writeValueAsString(demandRow(ThreadLocalRandom.current().nextInt(keys)))).append('\n');
+        }
+        return HttpRequest.newBuilder(URI.create(target + "/api/demand/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .timeout(Duration.ofMinutes(5))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private Map<String, Object> demandRow(int k) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("product_id", "P" + (1000 + k / 20));
+        row.put("store_id", "S" + (10 + k % 20));
+        row.put("date", LocalDate.of(2024, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(365)).toString());
+        row.put("sales_quantity", ThreadLocalRandom.current().nextInt(50, 300));
+        row.put("price", 49.99);
+        row.put("promotions", "Yes");
+        row.put("seasonality_factors", "Festival");
+        row.put("external_factors", "Competitor Pricing");
+        row.put("demand_trend", "Increasing");
+        row.put("customer_segments", "Regular");
+        return row;
+    }
+
+    private Map<String, Object> job() throws Exception {
+        String date = args.string("job-date", LocalDate.now().toString());
+        long start = System.nanoTime();
+        HttpResponse<byte[]> triggered = client.send(HttpRequest.newBuilder(
+                        URI.create(target + "/auto/schedule/runs?date=" + date))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (triggered.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Trigger failed: HTTP " + triggered.statusCode());
+        }
+        long runId = objectMapper.readTree(triggered.body()).path("id").asLong();
+        JsonNode run;
+        do {
+            Thread.sleep(2000);
+            run = objectMapper.readTree(client.send(HttpRequest.newBuilder(
+                    URI.create(target + "/auto/schedule/runs/" + runId)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body()).path("run");
+        } while ("RUNNING".equals(run.path("status").asText()) || "PENDING".equals(run.path("status").asText()));
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long succeeded = run.path("succeeded").asLong();
+        long failed = run.path("failed").asLong();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("run_id", runId);
+        result.put("status", run.path("status").asText());
+        result.put("duration_s", seconds);
+        result.put("succeeded", succeeded);
+        result.put("failed", failed);
+        result.put("rows_per_second", (succeeded + failed) / seconds);
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest next() throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package com.Multi_Agent.Retail_Inventory.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the backend's actuator once a second for database and connection-pool gauges and keeps the
+ * mean and peak of each. Gauges the backend does not publish (e.g. the Apache pool gauges when it runs
+ * the HTTP/2 client) are left out of the report.
+ */
+class SaturationSampler implements AutoCloseable {
+
+    static final List<String> GAUGES = List.of(
+            "hikaricp.connections.active",
+            "hikaricp.connections.pending",
+            "hikaricp.connections.max",
+            "agent.http.pool.leased",
+            "agent.http.pool.pending",
+            "agent.http.pool.max",
+            "forecast.job.in_flight",
+            "jvm.threads.live");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String target;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, double[]> stats = new LinkedHashMap<>(); // sum, samples, max
+
+    SaturationSampler(HttpClient client, String target) {
+        this.client = client;
+        this.target = target;
+        scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+    }
+
+    private void sample() {
+        for (String gauge : GAUGES) {
+            try {
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(target + "/actuator/metrics/" + gauge))
+                        .timeout(Duration.ofSeconds(2)).build(), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    continue;
+                }
+                JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+                double value = measurements.path(0).path("value").asDouble();
+                synchronized (stats) {
+                    double[] s = stats.computeIfAbsent(gauge, g -> new double[]{0, 0, Double.NEGATIVE_INFINITY});
+                    s[0] += value;
+                    s[1]++;
+                    s[2] = Math.max(s[2], value);
+                }
+            } catch (Exception e) {
+                // backend busy or gone; skip this sample
+            }
+        }
+    }
+
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        synchronized (stats) {
+            stats.forEach((gauge, s) -> summary.put(gauge, Map.of("mean", s[0] / s[1], "max", s[2])));
+        }
+        return summary;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,86 @@
+package com.Multi_Agent.Retail_Inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the agent service lives and how the shared HTTP client talks to it. Per-endpoint overrides are
+ * keyed by the endpoint path, e.g. {@code agent.endpoints.forecast.read-timeout=90s}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "agent")
+public class AgentProperties {
+
+    private String baseUrl = "https://falcon-sincere-gelding.ngrok-free.app";
+
+    private Http http = new Http();
+
+    private Batch batch = new Batch();
+
+    private Resilience resilience = new Resilience();
+
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    public Endpoint endpoint(String path) {
+        return endpoints.getOrDefault(path, new Endpoint());
+    }
+
+    @Data
+    public static class Http {
+        /** Use the JDK client over HTTP/2 instead of the pooled Apache HTTP/1.1 client. */
+        private boolean http2 = false;
+        private int maxConnections = 200;
+        private int maxConnectionsPerRoute = 100;
+        private Duration keepAlive = Duration.ofSeconds(60);
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        /** How long a caller waits for a free pooled connection. */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(30);
+        private Duration readTimeout = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Batched protocol: queries to the same endpoint are grouped and sent to {@code <endpoint>/batch}.
+     * Needs an agent service that exposes the batch routes.
+     */
+    @Data
+    public static class Batch {
+        private boolean enabled = false;
+        private int maxSize = 16;
+        /** How long the first query of a batch waits for others to join it. */
+        private Duration linger = Duration.ofMillis(20);
+    }
+
+    /** Circuit breaker, bulkhead and retry settings, applied to each endpoint separately. */
+    @Data
+    public static class Resilience {
+        /** Number of recent calls the failure and slow-call rates are computed over. */
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private float failureRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(30);
+        private float slowCallRateThreshold = 80;
+        private Duration openStateWait = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+        /** How long a caller may wait for a bulkhead permit before failing fast. */
+        private Duration bulkheadMaxWait = Duration.ofSeconds(30);
+        /** Total attempts per call, including the first. */
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(500);
+        private double backoffMultiplier = 2;
+        /** Randomization factor applied to each backoff interval. */
+        private double jitter = 0.5;
+        private Duration maxBackoff = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Endpoint {
+        /** Falls back to {@code agent.http.read-timeout} when unset. */
+        private Duration readTimeout;
+    }
+}
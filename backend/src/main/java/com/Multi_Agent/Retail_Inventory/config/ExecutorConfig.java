@@ -0,0 +1,20 @@
+package com.Multi_Agent.Retail_Inventory.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the blocking branches of a prediction (agent calls, snapshot lookups) concurrently. Virtual
+     * threads, so a branch parked on I/O costs no platform thread.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService predictionExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,20 +1,31 @@
 package com.Multi_Agent.Retail_Inventory.controller;
 
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobRun;
 import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
 import com.Multi_Agent.Retail_Inventory.repository.ProcessedForecastResultRepository;
+import com.Multi_Agent.Retail_Inventory.service.ForecastJobExecutor;
+import com.Multi_Agent.Retail_Inventory.service.ForecastJobRunDetails;
+import com.Multi_Agent.Retail_Inventory.service.ForecastJobService;
+import com.Multi_Agent.Retail_Inventory.service.ForecastRunStats;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/auto/schedule")
 public class CronController {
     @Autowired
     private ProcessedForecastResultRepository processedForecastResultRepository;
+    @Autowired
+    private ForecastJobExecutor forecastJobExecutor;
+    @Autowired
+    private ForecastJobService forecastJobService;
     @GetMapping("/monthly")
     public List<ProcessedForecastResult> getTodayResults() {
         LocalDate today = LocalDate.now();
@@ -24,4 +35,54 @@ public class CronController {
         );
     }
 
+    @GetMapping("/last-run")
+    public ResponseEntity<ForecastRunStats> getLastRun() {
+        ForecastRunStats lastRun = forecastJobExecutor.getLastRun();
+        return lastRun != null ? ResponseEntity.ok(lastRun) : ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/runs")
+    public List<ForecastJobRun> getRuns() {
+        return forecastJobService.recentRuns();
+    }
+
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<ForecastJobRunDetails> getRun(@PathVariable long id) {
+        return ResponseEntity.of(forecastJobService.details(id));
+    }
+
+    /**
+     * Starts (or returns) the run for the month of {@code date}, today by default. {@code full=true}
+     * forecasts every key instead of carrying unchanged ones forward.
+     */
+    @PostMapping("/runs")
+    public ResponseEntity<ForecastJobRun> triggerRun(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "increase") String strategy,
+            @RequestParam(defaultValue = "false") boolean full) {
+        return new ResponseEntity<>(forecastJobService.trigger(date != null ? date : LocalDate.now(), strategy, full),
+                HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/runs/{id}/pause")
+    public ResponseEntity<ForecastJobRun> pauseRun(@PathVariable long id) {
+        return new ResponseEntity<>(forecastJobService.pause(id), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/runs/{id}/resume")
+    public ResponseEntity<ForecastJobRun> resumeRun(@PathVariable long id,
+                                                    @RequestParam(defaultValue = "false") boolean rescan) {
+        return new ResponseEntity<>(forecastJobService.resume(id, rescan), HttpStatus.ACCEPTED);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> runNotFound(NoSuchElementException e) {
+        return new ResponseEntity<>("Run not found", HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> runConflict(IllegalStateException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
 }
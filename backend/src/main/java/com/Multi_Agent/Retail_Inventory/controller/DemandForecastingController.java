@@ -1,12 +1,23 @@
 package com.Multi_Agent.Retail_Inventory.controller;
 
 import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.repository.HistoryReader;
 import com.Multi_Agent.Retail_Inventory.service.DemandForecastingService;
+import com.Multi_Agent.Retail_Inventory.service.BulkIngestResult;
+import com.Multi_Agent.Retail_Inventory.service.BulkIngestService;
+import com.Multi_Agent.Retail_Inventory.service.HistoryService;
+import com.Multi_Agent.Retail_Inventory.service.DemandSeriesStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,6 +26,12 @@ public class DemandForecastingController {
 
     @Autowired
     private DemandForecastingService demandForecastingService;
+    @Autowired
+    private BulkIngestService bulkIngestService;
+    @Autowired
+    private HistoryService historyService;
+    @Autowired
+    private DemandSeriesStore demandSeriesStore;
 
     @PostMapping("/add")
     public ResponseEntity<?> updateProduct(@RequestBody Demand demand){
@@ -22,9 +39,33 @@ public class DemandForecastingController {
          return new ResponseEntity<>("Product Added Successfully", HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkIngestResult> bulkAdd(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    InputStream body) {
+        return new ResponseEntity<>(bulkIngestService.ingest(BulkIngestService.DEMAND, body, contentType), HttpStatus.CREATED);
+    }
+
+    // The key's rows, oldest id first; with ?limit= or ?after= one page, continued via the X-Next-Cursor header
     @GetMapping("/history/{productId}/{storeId}")
-    public ResponseEntity<List<Demand>> getHistoricalSalesData(@PathVariable String productId, @PathVariable String storeId) {
-        return ResponseEntity.ok(demandForecastingService.getHistoricalSalesData(productId, storeId));
+    public ResponseEntity<StreamingResponseBody> getHistoricalSalesData(@PathVariable String productId, @PathVariable String storeId,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                        @RequestParam(required = false) Long after,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return historyService.page(HistoryReader.DEMAND, productId, storeId, from, to, after, limit);
+    }
+
+    // Keys whose sales rise fastest over their last `window` observations, from the in-memory series store
+    @GetMapping("/trends")
+    public ResponseEntity<List<DemandSeriesStore.DemandTrend>> getTopTrends(@RequestParam(defaultValue = "12") int window,
+                                                                            @RequestParam(defaultValue = "50") int limit) {
+        if (window < 1 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!demandSeriesStore.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(demandForecastingService.getTopTrends(window, limit));
     }
 
 }
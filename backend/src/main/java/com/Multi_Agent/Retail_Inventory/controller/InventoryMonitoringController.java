@@ -2,27 +2,47 @@ package com.Multi_Agent.Retail_Inventory.controller;
 
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.repository.HistoryReader;
 import com.Multi_Agent.Retail_Inventory.service.InventoryMonitoringService;
+import com.Multi_Agent.Retail_Inventory.service.BulkIngestResult;
+import com.Multi_Agent.Retail_Inventory.service.BulkIngestService;
+import com.Multi_Agent.Retail_Inventory.service.HistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryMonitoringController {
     @Autowired
     private InventoryMonitoringService inventoryMonitoringService;
+    @Autowired
+    private BulkIngestService bulkIngestService;
+    @Autowired
+    private HistoryService historyService;
     @PostMapping("/add")
     public ResponseEntity<?> createProduct(@RequestBody Inventory inventory){
         inventoryMonitoringService.addProduct(inventory);
         return new ResponseEntity<>("Product Added Successfully", HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BulkIngestResult> bulkAdd(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    InputStream body) {
+        return new ResponseEntity<>(bulkIngestService.ingest(BulkIngestService.INVENTORY, body, contentType), HttpStatus.CREATED);
+    }
+
+    // The key's rows, oldest id first; with ?limit= or ?after= one page, continued via the X-Next-Cursor header
     @GetMapping("/history/{productId}/{storeId}")
-    public ResponseEntity<List<Inventory>> getAllStockLevels(@PathVariable String productId, @PathVariable String storeId) {
-        return ResponseEntity.ok(inventoryMonitoringService.getAllStockLevels(productId, storeId));
+    public ResponseEntity<StreamingResponseBody> getAllStockLevels(@PathVariable String productId, @PathVariable String storeId,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return historyService.page(HistoryReader.INVENTORY, productId, storeId, null, null, after, limit);
     }
 }
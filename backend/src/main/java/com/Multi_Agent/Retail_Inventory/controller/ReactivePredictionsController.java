@@ -0,0 +1,42 @@
+package com.Multi_Agent.Retail_Inventory.controller;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.service.ReactiveRetailAIPredictionsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking variants of the {@code api/prediction} and {@code api/retail} endpoints. Requests are
+ * handled asynchronously, so the servlet thread is released while the agents are called.
+ */
+@RestController
+@RequestMapping("api/reactive")
+public class ReactivePredictionsController {
+    @Autowired
+    private ReactiveRetailAIPredictionsService reactiveRetailAIPredictionsService;
+
+    @PostMapping("retail/all/predictions")
+    public Mono<Map<String, Object>> retailAIPredictions(@RequestBody Demand demand, @RequestParam String month, @RequestParam String strategy){
+        return reactiveRetailAIPredictionsService.allAIPredictions(demand, month, strategy);
+    }
+
+    @PostMapping("prediction/forecast/{month}")
+    public Mono<Map<String, Object>> predictForecast(@RequestBody Demand demand, @PathVariable String month){
+        return reactiveRetailAIPredictionsService.predictSales(demand, month);
+    }
+
+    @PostMapping("prediction/reorder/{predicatedSales}")
+    public Mono<Map<String, Object>> checkInventory(@RequestBody Inventory inventory, @PathVariable Integer predicatedSales){
+        return reactiveRetailAIPredictionsService.predictReorderAmt(inventory, predicatedSales);
+    }
+
+    @PostMapping("prediction/optimize/{strategy}")
+    public Mono<Map<String, Object>> optimizePrice(@RequestBody Pricing pricing, @PathVariable String strategy){
+        return reactiveRetailAIPredictionsService.optimizeLatestPrice(pricing, strategy);
+    }
+}
@@ -3,8 +3,12 @@ package com.Multi_Agent.Retail_Inventory.controller;
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.service.RetailAIPredictionsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,4 +21,11 @@ public class RetailAIPredictionsController {
     public Map<String,Object> retailAIPredictions(@RequestBody Demand demand, @RequestParam String month, @RequestParam String strategy){
         return retailAIPredictionsService.allAIPredictions(demand,month,strategy);
     }
+
+    @PostMapping(value = "batch/predictions", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> batchAIPredictions(@RequestBody List<Demand> demands, @RequestParam String month, @RequestParam String strategy){
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> retailAIPredictionsService.streamBatchPredictions(demands, month, strategy, out));
+    }
 }
@@ -9,6 +9,10 @@ import java.time.LocalDate;
 
 @Entity
 @Data
+@Table(name = "demand", indexes = {
+        @Index(name = "idx_demand_product_store_date", columnList = "product_id, store_id, date"),
+        @Index(name = "idx_demand_product_store_id", columnList = "product_id, store_id, id")
+})
 public class Demand {
 
     @Id
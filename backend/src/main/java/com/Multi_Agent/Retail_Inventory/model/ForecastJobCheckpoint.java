@@ -0,0 +1,31 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks one demand row (one product/store key in LATEST_PER_KEY mode) as forecast and saved by a run.
+ * Written in the same transaction as the forecast results, so a key is either both saved and
+ * checkpointed or neither.
+ */
+@Entity
+@Data
+@Table(name = "forecast_job_checkpoint", indexes = {
+        @Index(name = "idx_forecast_checkpoint_run_key", columnList = "run_id, product_id, store_id")
+})
+public class ForecastJobCheckpoint {
+
+    @EmbeddedId
+    private ForecastJobCheckpointId id;
+
+    @Column(name = "product_id")
+    private String productId;
+
+    @Column(name = "store_id")
+    private String storeId;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
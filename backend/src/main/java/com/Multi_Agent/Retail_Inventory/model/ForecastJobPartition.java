@@ -0,0 +1,34 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * One hash partition of a run's keys. A node works on a partition only while it holds its lease;
+ * a partition whose lease has run out (its node crashed or hung) can be claimed by any other node and
+ * continues after its cursor, the last demand row of the last committed chunk.
+ */
+@Entity
+@Data
+@Table(name = "forecast_job_partition")
+public class ForecastJobPartition {
+
+    @EmbeddedId
+    private ForecastJobPartitionId id;
+
+    /** PENDING, RUNNING or COMPLETED. */
+    @Enumerated(EnumType.STRING)
+    private ForecastJobStatus status;
+
+    private String owner;
+    private Instant leaseUntil;
+
+    private Long cursorDemandId;
+    private String cursorProductId;
+    private String cursorStoreId;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForecastJobPartitionId implements Serializable {
+
+    @Column(name = "run_id")
+    private Long runId;
+
+    @Column(name = "partition_no")
+    private Integer partitionNo;
+}
@@ -0,0 +1,48 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of the monthly forecasting job, identified by name (e.g. "monthly-October-2026") so the
+ * same month is never forecast twice. Its keys are split into {@code partitions} hash partitions
+ * ({@link ForecastJobPartition}) that any node can work on. Counters accumulate across nodes and resumes.
+ */
+@Entity
+@Data
+@Table(name = "forecast_job_run", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_forecast_job_run_name", columnNames = "name")
+})
+public class ForecastJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+    private String month;
+    private String strategy;
+    /** {@link com.Multi_Agent.Retail_Inventory.service.ForecastJobMode} the run was started with. */
+    private String mode;
+
+    @Enumerated(EnumType.STRING)
+    private ForecastJobStatus status;
+
+    private int partitions;
+    /** Whether keys with unchanged inputs carry their previous result forward instead of being forecast. */
+    @ColumnDefault("false")
+    private boolean incremental;
+
+    private long succeeded;
+    private long failed;
+    @ColumnDefault("0")
+    private long carriedForward;
+    private String lastError;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
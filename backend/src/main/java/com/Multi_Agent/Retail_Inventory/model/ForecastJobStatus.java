@@ -0,0 +1,11 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+public enum ForecastJobStatus {
+    /** Created, not started yet. */
+    PENDING,
+    RUNNING,
+    /** Stopped on request; each node stops after its current chunk. Can be resumed. */
+    PAUSED,
+    FAILED,
+    COMPLETED
+}
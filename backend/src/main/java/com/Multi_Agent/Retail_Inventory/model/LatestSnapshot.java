@@ -0,0 +1,32 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Current state per (productId, storeId): the ids of the newest Demand, Inventory and Pricing rows.
+ * Maintained on every insert so "latest row" lookups are a primary-key hit instead of a scan over the
+ * history tables. Demand is "newest" by date and then id, the others by id.
+ */
+@Entity
+@Data
+@Table(name = "latest_snapshot")
+public class LatestSnapshot {
+
+    @EmbeddedId
+    private LatestSnapshotId id;
+
+    @Column(name = "demand_id")
+    private Long demandId;
+
+    @Column(name = "demand_date")
+    private LocalDate demandDate;
+
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Column(name = "pricing_id")
+    private Long pricingId;
+}
@@ -6,7 +6,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
 @Data
-@Table(name = "pricing")
+@Table(name = "pricing", indexes = {
+        @Index(name = "idx_pricing_product_store_id", columnList = "product_id, store_id, id")
+})
 public class Pricing {
 
     @Id
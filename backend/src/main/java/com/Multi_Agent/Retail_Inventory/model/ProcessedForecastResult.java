@@ -4,12 +4,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(name = "processed_forecast_result", indexes = {
+        @Index(name = "idx_forecast_result_processed_at", columnList = "processed_at"),
+        @Index(name = "idx_forecast_result_key", columnList = "product_id, store_id, id")
+})
 public class ProcessedForecastResult {
 
     @Id
@@ -34,6 +40,11 @@ public class ProcessedForecastResult {
     private String strategyAlignment;
     private String riskLevel;
 
+    /** Fingerprint of the inputs this result was predicted from, see ForecastChangeTracker. */
+    private String inputFingerprint;
+    /** True if the inputs had not changed and the previous month's result was copied. */
+    private Boolean carriedForward;
+
     private LocalDateTime processedAt;
 
 }
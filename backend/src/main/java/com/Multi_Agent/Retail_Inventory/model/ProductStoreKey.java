@@ -0,0 +1,7 @@
+package com.Multi_Agent.Retail_Inventory.model;
+
+/**
+ * Identifies one product in one store, the unit every history table and forecast is keyed by.
+ */
+public record ProductStoreKey(String productId, String storeId) {
+}
@@ -2,10 +2,32 @@ package com.Multi_Agent.Retail_Inventory.repository;
 
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface DemandForecastingRepository extends JpaRepository<Demand,Long> {
 
     List<Demand> findByProductIdAndStoreId(String productId, String storeId);
+
+    // Keyset page of one id partition (id mod partitions): the next rows after the last id seen
+    @Query(value = """
+            SELECT d.*
+            FROM demand d
+            WHERE d.id > :id AND d.id % :partitions = :partition
+            ORDER BY d.id
+            LIMIT :limit""", nativeQuery = true)
+    List<Demand> findPartitionAfter(long id, int partitions, int partition, int limit);
+
+    // Most recent row (by date, then id) for each (productId, storeId) of one hash partition after the
+    // given key, in key order. partitions = 1 covers every key.
+    @Query(value = """
+            SELECT d.*
+            FROM latest_snapshot s
+            JOIN demand d ON d.id = s.demand_id
+            WHERE (s.product_id, s.store_id) > (:productId, :storeId)
+              AND (hashtext(s.product_id || '|' || s.store_id) & 2147483647) % :partitions = :partition
+            ORDER BY s.product_id, s.store_id
+            LIMIT :limit""", nativeQuery = true)
+    List<Demand> findLatestPerKeyAfter(String productId, String storeId, int partitions, int partition, int limit);
 }
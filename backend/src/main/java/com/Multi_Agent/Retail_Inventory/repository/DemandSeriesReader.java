@@ -0,0 +1,63 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Streams Demand rows as primitive points for the in-memory series store, without building entities.
+ * The date comes back as an epoch day computed by the database, and the result set is read through a
+ * server-side cursor ({@code demand.series.fetch-size} rows at a time), so a full load does not hold
+ * the table in the driver.
+ */
+@Repository
+public class DemandSeriesReader {
+
+    private static final String SELECT_AFTER_SQL = """
+            SELECT id, product_id, store_id, date - DATE '1970-01-01' AS epoch_day, sales_quantity, price
+            FROM demand
+            WHERE id > ?
+              AND product_id IS NOT NULL AND store_id IS NOT NULL
+              AND date IS NOT NULL AND sales_quantity IS NOT NULL
+            ORDER BY id""";
+
+    /** Receives one point; a missing price is {@link Double#NaN}. */
+    @FunctionalInterface
+    public interface PointSink {
+        void accept(String productId, String storeId, int epochDay, int salesQuantity, double price);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${demand.series.fetch-size:5000}")
+    private int fetchSize;
+
+    /**
+     * Passes every usable row with an id above {@code afterId} to {@code sink}, in id order, and returns
+     * the highest id read ({@code afterId} when there were none). The transaction keeps the cursor open.
+     */
+    @Transactional(readOnly = true)
+    public long readAfter(long afterId, PointSink sink) {
+        long[] lastId = {afterId};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_AFTER_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, afterId);
+            return ps;
+        }, rs -> {
+            // wasNull() reports on the last column read, so it has to follow getDouble() directly
+            double price = rs.getDouble(6);
+            if (rs.wasNull()) {
+                price = Double.NaN;
+            }
+            sink.accept(rs.getString(2), rs.getString(3), rs.getInt(4), rs.getInt(5), price);
+            lastId[0] = rs.getLong(1);
+        });
+        return lastId[0];
+    }
+}
@@ -0,0 +1,29 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobCheckpoint;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobCheckpointId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ForecastJobCheckpointRepository extends JpaRepository<ForecastJobCheckpoint, ForecastJobCheckpointId> {
+
+    long countByIdRunId(Long runId);
+
+    @Query("SELECT c.id.demandId FROM ForecastJobCheckpoint c WHERE c.id.runId = :runId AND c.id.demandId IN :demandIds")
+    List<Long> findCompleted(@Param("runId") Long runId, @Param("demandIds") Collection<Long> demandIds);
+
+    // LATEST_PER_KEY runs: a key is done once any of its rows was checkpointed, even if it has a newer row
+    // since. productIds[n] and storeIds[n] form the n-th key; returns (product_id, store_id) pairs
+    @Query(value = """
+            SELECT DISTINCT c.product_id, c.store_id FROM forecast_job_checkpoint c
+            WHERE c.run_id = :runId AND (c.product_id, c.store_id) IN (
+                SELECT * FROM unnest(CAST(:productIds AS text[]), CAST(:storeIds AS text[])))""", nativeQuery = true)
+    List<Object[]> findCompletedKeys(@Param("runId") Long runId, @Param("productIds") String[] productIds,
+                                     @Param("storeIds") String[] storeIds);
+}
@@ -0,0 +1,43 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Batch-inserts checkpoints for the demand rows a run has finished. Re-recording a row is a no-op.
+ */
+@Repository
+public class ForecastJobCheckpointWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO forecast_job_checkpoint (run_id, demand_id, product_id, store_id, completed_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${forecast.results.batch-size:500}")
+    private int batchSize;
+
+    public void writeAll(long runId, Collection<Demand> completed) {
+        if (completed.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, completed, batchSize, (ps, demand) -> {
+            ps.setLong(1, runId);
+            ps.setLong(2, demand.getId());
+            ps.setString(3, demand.getProductId());
+            ps.setString(4, demand.getStoreId());
+            ps.setTimestamp(5, now);
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartition;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartitionId;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Partition leases for the forecasting job. Claims use {@code FOR UPDATE SKIP LOCKED}, so any number of
+ * nodes can ask for work at the same time without blocking each other or being handed the same
+ * partition. Every write by a worker is conditioned on it still owning the partition; a worker whose
+ * lease was taken over sees 0 rows updated and must stop.
+ */
+@Repository
+public class ForecastJobPartitionRepository {
+
+    private static final RowMapper<ForecastJobPartition> ROW_MAPPER = (rs, rowNum) -> {
+        ForecastJobPartition partition = new ForecastJobPartition();
+        partition.setId(new ForecastJobPartitionId(rs.getLong("run_id"), rs.getInt("partition_no")));
+        partition.setStatus(ForecastJobStatus.valueOf(rs.getString("status")));
+        partition.setOwner(rs.getString("owner"));
+        Timestamp leaseUntil = rs.getTimestamp("lease_until");
+        partition.setLeaseUntil(leaseUntil != null ? leaseUntil.toInstant() : null);
+        partition.setCursorDemandId(rs.getObject("cursor_demand_id", Long.class));
+        partition.setCursorProductId(rs.getString("cursor_product_id"));
+        partition.setCursorStoreId(rs.getString("cursor_store_id"));
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        partition.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        return partition;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Creates partitions 0..count-1 for the run; safe to call from every node. */
+    public void createAll(long runId, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO forecast_job_partition (run_id, partition_no, status, updated_at)
+                SELECT ?, g, 'PENDING', localtimestamp FROM generate_series(0, ? - 1) g
+                ON CONFLICT DO NOTHING""", runId, count);
+    }
+
+    /** Takes the first pending partition, or one whose lease has expired, and leases it to {@code owner}. */
+    public Optional<ForecastJobPartition> claim(long runId, String owner, Duration lease) {
+        return jdbcTemplate.query("""
+                UPDATE forecast_job_partition p
+                SET status = 'RUNNING', owner = ?, lease_until = now() + ? * interval '1 millisecond',
+                    updated_at = localtimestamp
+                WHERE (p.run_id, p.partition_no) = (
+                    SELECT run_id, partition_no FROM forecast_job_partition
+                    WHERE run_id = ?
+                      AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now()))
+                    ORDER BY partition_no
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING p.*""", ROW_MAPPER, owner, lease.toMillis(), runId).stream().findFirst();
+    }
+
+    public boolean hasClaimable(long runId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM forecast_job_partition
+                               WHERE run_id = ?
+                                 AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now())))""",
+                Boolean.class, runId));
+    }
+
+    /** Moves the cursor past {@code last} and extends the lease. False if {@code owner} lost the partition. */
+    public boolean advance(ForecastJobPartitionId id, String owner, Duration lease, Demand last) {
+        return jdbcTemplate.update("""
+                UPDATE forecast_job_partition
+                SET cursor_demand_id = ?, cursor_product_id = ?, cursor_store_id = ?,
+                    lease_until = now() + ? * interval '1 millisecond', updated_at = localtimestamp
+                WHERE run_id = ? AND partition_no = ? AND owner = ? AND status = 'RUNNING'""",
+                last.getId(), last.getProductId(), last.getStoreId(), lease.toMillis(),
+                id.getRunId(), id.getPartitionNo(), owner) == 1;
+    }
+
+    public boolean complete(ForecastJobPartitionId id, String owner) {
+        return jdbcTemplate.update("""
+                UPDATE forecast_job_partition
+                SET status = 'COMPLETED', lease_until = NULL, updated_at = localtimestamp
+                WHERE run_id = ? AND partition_no = ? AND owner = ? AND status = 'RUNNING'""",
+                id.getRunId(), id.getPartitionNo(), owner) == 1;
+    }
+
+    /** Hands the partition back (keeping its cursor) so any node can pick it up again. */
+    public void release(ForecastJobPartitionId id, String owner) {
+        jdbcTemplate.update("""
+                UPDATE forecast_job_partition
+                SET status = 'PENDING', owner = NULL, lease_until = NULL, updated_at = localtimestamp
+                WHERE run_id = ? AND partition_no = ? AND owner = ? AND status = 'RUNNING'""",
+                id.getRunId(), id.getPartitionNo(), owner);
+    }
+
+    /** Extends every lease {@code owner} holds; called periodically so long chunks do not lose them. */
+    public int renewLeases(String owner, Duration lease) {
+        return jdbcTemplate.update("""
+                UPDATE forecast_job_partition
+                SET lease_until = now() + ? * interval '1 millisecond'
+                WHERE owner = ? AND status = 'RUNNING'""", lease.toMillis(), owner);
+    }
+
+    /** Puts every partition back to the start; checkpointed keys are still skipped on the next pass. */
+    public void resetAll(long runId) {
+        jdbcTemplate.update("""
+                UPDATE forecast_job_partition
+                SET status = 'PENDING', owner = NULL, lease_until = NULL, cursor_demand_id = NULL,
+                    cursor_product_id = NULL, cursor_store_id = NULL, updated_at = localtimestamp
+                WHERE run_id = ?""", runId);
+    }
+
+    public List<ForecastJobPartition> findByRun(long runId) {
+        return jdbcTemplate.query("SELECT * FROM forecast_job_partition WHERE run_id = ? ORDER BY partition_no",
+                ROW_MAPPER, runId);
+    }
+}
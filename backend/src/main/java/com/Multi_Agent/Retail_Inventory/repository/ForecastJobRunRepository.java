@@ -0,0 +1,51 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobRun;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ForecastJobRunRepository extends JpaRepository<ForecastJobRun, Long> {
+
+    Optional<ForecastJobRun> findByName(String name);
+
+    List<ForecastJobRun> findByStatus(ForecastJobStatus status);
+
+    List<ForecastJobRun> findTop20ByOrderByIdDesc();
+
+    // Runs are updated by several nodes at once, so every change is a targeted UPDATE, never a save()
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ForecastJobRun r SET r.succeeded = r.succeeded + :succeeded, r.failed = r.failed + :failed, " +
+            "r.carriedForward = r.carriedForward + :carriedForward, r.updatedAt = :now WHERE r.id = :id")
+    int addCounts(Long id, long succeeded, long failed, long carriedForward, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ForecastJobRun r SET r.status = :status, r.updatedAt = :now WHERE r.id = :id")
+    int updateStatus(Long id, ForecastJobStatus status, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ForecastJobRun r SET r.status = com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus.FAILED, r.lastError = :error, " +
+            "r.updatedAt = :now WHERE r.id = :id")
+    int fail(Long id, String error, LocalDateTime now);
+
+    // Completes the run once its last partition is done; exactly one node's call matches
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ForecastJobRun r SET r.status = com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus.COMPLETED, r.finishedAt = :now, r.updatedAt = :now
+            WHERE r.id = :id AND r.status = com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus.RUNNING
+              AND NOT EXISTS (SELECT p FROM ForecastJobPartition p WHERE p.id.runId = :id AND p.status <> com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus.COMPLETED)""")
+    int completeIfDone(Long id, LocalDateTime now);
+}
@@ -0,0 +1,193 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages of one key's history rows, written straight from a JDBC cursor to JSON. Pages are keyset
+ * pages in id order: a page starts after the {@code after} id and the next one after its last id, so
+ * rows inserted meanwhile never shift a page. Column names double as the JSON property names, which
+ * gives the same objects the entities serialize to.
+ */
+@Repository
+public class HistoryReader {
+
+    /** A history table, its columns in the order the entity serializes them and its date column, if any. */
+    public record Table(String name, List<String> columns, String dateColumn) {
+    }
+
+    public static final Table DEMAND = new Table("demand", List.of("id", "product_id", "date", "store_id",
+            "sales_quantity", "price", "promotions", "seasonality_factors", "external_factors", "demand_trend",
+            "customer_segments"), "date");
+
+    public static final Table INVENTORY = new Table("inventory", List.of("id", "product_id", "store_id",
+            "stock_levels", "supplier_lead_time", "stockout_frequency", "reorder_point", "expiry_date",
+            "warehouse_capacity", "order_fulfillment_time"), null);
+
+    public static final Table PRICING = new Table("pricing", List.of("id", "product_id", "store_id", "price",
+            "competitor_prices", "discounts", "sales_volume", "customer_reviews", "return_rate", "storage_cost",
+            "elasticity_index"), null);
+
+    /** One key's rows after {@code after} (null for the first page), within {@code from}..{@code to} when given. */
+    public record Query(Table table, String productId, String storeId, LocalDate from, LocalDate to, Long after) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${history.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * The id of the last row of the page of {@code limit} rows, if more rows follow it; null when the
+     * page is the last one. An index-only look at two ids, so the cursor is known before streaming.
+     */
+    @Transactional(readOnly = true)
+    public Long lastIdOfFullPage(Query query, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT id FROM " + query.table().name() + where(query, null, args) + " ORDER BY id OFFSET ? LIMIT 2";
+        args.add(limit - 1);
+        List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+        return ids.size() == 2 ? ids.get(0) : null;
+    }
+
+    /**
+     * Writes the rows of {@code query} up to and including id {@code through} (null for all) as a JSON
+     * array, reading them through a server-side cursor. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public int stream(Query query, Long through, JsonGenerator json) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + String.join(", ", query.table().columns()) + " FROM " + query.table().name()
+                + where(query, through, args) + " ORDER BY id";
+        int[] rows = {0};
+        try {
+            json.writeStartArray();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, new RowWriter(query.table(), json, rows));
+            json.writeEndArray();
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+
+    private static String where(Query query, Long through, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE product_id = ? AND store_id = ?");
+        args.add(query.productId());
+        args.add(query.storeId());
+        String dateColumn = query.table().dateColumn();
+        if (dateColumn != null && query.from() != null) {
+            where.append(" AND ").append(dateColumn).append(" >= ?");
+            args.add(Date.valueOf(query.from()));
+        }
+        if (dateColumn != null && query.to() != null) {
+            where.append(" AND ").append(dateColumn).append(" <= ?");
+            args.add(Date.valueOf(query.to()));
+        }
+        if (query.after() != null) {
+            where.append(" AND id > ?");
+            args.add(query.after());
+        }
+        if (through != null) {
+            where.append(" AND id <= ?");
+            args.add(through);
+        }
+        return where.toString();
+    }
+
+    // Reads each column with its primitive getter, so no entity or boxed value is built per row
+    private static final class RowWriter implements RowCallbackHandler {
+        private final Table table;
+        private final JsonGenerator json;
+        private final int[] rows;
+        private int[] types;
+
+        RowWriter(Table table, JsonGenerator json, int[] rows) {
+            this.table = table;
+            this.json = json;
+            this.rows = rows;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (types == null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                types = new int[metaData.getColumnCount()];
+                for (int i = 0; i < types.length; i++) {
+                    types[i] = metaData.getColumnType(i + 1);
+                }
+            }
+            try {
+                json.writeStartObject();
+                for (int i = 0; i < types.length; i++) {
+                    json.writeFieldName(table.columns().get(i));
+                    writeValue(rs, i + 1, types[i]);
+                }
+                json.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        }
+
+        private void writeValue(ResultSet rs, int column, int type) throws SQLException, IOException {
+            switch (type) {
+                case Types.BIGINT -> {
+                    long value = rs.getLong(column);
+                    if (rs.wasNull()) {
+                        json.writeNull();
+                    } else {
+                        json.writeNumber(value);
+                    }
+                }
+                case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> {
+                    int value = rs.getInt(column);
+                    if (rs.wasNull()) {
+                        json.writeNull();
+                    } else {
+                        json.writeNumber(value);
+                    }
+                }
+                case Types.DOUBLE, Types.FLOAT, Types.REAL -> {
+                    double value = rs.getDouble(column);
+                    if (rs.wasNull()) {
+                        json.writeNull();
+                    } else {
+                        json.writeNumber(value);
+                    }
+                }
+                case Types.DATE -> {
+                    // ISO yyyy-MM-dd, the format the entities use
+                    LocalDate value = rs.getObject(column, LocalDate.class);
+                    json.writeString(value == null ? null : value.toString());
+                }
+                default -> json.writeString(rs.getString(column));
+            }
+        }
+    }
+}
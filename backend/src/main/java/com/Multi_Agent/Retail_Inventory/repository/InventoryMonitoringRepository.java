@@ -3,10 +3,24 @@ package com.Multi_Agent.Retail_Inventory.repository;
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface InventoryMonitoringRepository extends JpaRepository<Inventory,Long> {
     List<Inventory> findByProductIdAndStoreId(String productId, String storeId);
     Inventory findTopByProductIdAndStoreIdOrderByIdDesc(String productId,String storeId);
+
+    // Same row as findTop...OrderByIdDesc, resolved through the latest_snapshot primary key
+    @Query("select i from Inventory i where i.id = (select s.inventoryId from LatestSnapshot s " +
+            "where s.id.productId = :productId and s.id.storeId = :storeId)")
+    Inventory findLatest(String productId, String storeId);
+
+    // Multi-key form of findLatest: productIds[n] and storeIds[n] form the n-th key
+    @Query(value = """
+            SELECT i.* FROM latest_snapshot s
+            JOIN inventory i ON i.id = s.inventory_id
+            WHERE (s.product_id, s.store_id) IN (
+                SELECT * FROM unnest(CAST(:productIds AS text[]), CAST(:storeIds AS text[])))""", nativeQuery = true)
+    List<Inventory> findLatestIn(String[] productIds, String[] storeIds);
 }
@@ -0,0 +1,114 @@
+package com.Multi_Agent.Retail_Inventory.repository;
+
+import com.Multi_Agent.Retail_Inventory.model.LatestSnapshot;
+import com.Multi_Agent.Retail_Inventory.model.LatestSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+public interface LatestSnapshotRepository extends JpaRepository<LatestSnapshot, LatestSnapshotId> {
+
+    String DEMAND_IS_NEWER = """
+            latest_snapshot.demand_id IS NULL
+               OR (COALESCE(EXCLUDED.demand_date, CAST('-infinity' AS date)), EXCLUDED.demand_id)
+                > (COALESCE(latest_snapshot.demand_date, CAST('-infinity' AS date)), latest_snapshot.demand_id)""";
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, demand_id, demand_date)
+            VALUES (:productId, :storeId, :demandId, :demandDate)
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET demand_id = EXCLUDED.demand_id, demand_date = EXCLUDED.demand_date
+            WHERE
+            """ + DEMAND_IS_NEWER, nativeQuery = true)
+    void recordDemand(String productId, String storeId, Long demandId, LocalDate demandDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, inventory_id)
+            VALUES (:productId, :storeId, :inventoryId)
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET inventory_id = GREATEST(latest_snapshot.inventory_id, EXCLUDED.inventory_id)""", nativeQuery = true)
+    void recordInventory(String productId, String storeId, Long inventoryId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, pricing_id)
+            VALUES (:productId, :storeId, :pricingId)
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET pricing_id = GREATEST(latest_snapshot.pricing_id, EXCLUDED.pricing_id)""", nativeQuery = true)
+    void recordPricing(String productId, String storeId, Long pricingId);
+
+    // An edit moved a row to another key: the old key's latest row is recomputed from what is left
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE latest_snapshot SET inventory_id = (
+                SELECT MAX(id) FROM inventory WHERE product_id = :productId AND store_id = :storeId)
+            WHERE product_id = :productId AND store_id = :storeId""", nativeQuery = true)
+    void recomputeInventory(String productId, String storeId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE latest_snapshot SET pricing_id = (
+                SELECT MAX(id) FROM pricing WHERE product_id = :productId AND store_id = :storeId)
+            WHERE product_id = :productId AND store_id = :storeId""", nativeQuery = true)
+    void recomputePricing(String productId, String storeId);
+
+    // Set-based variants for bulk loads and the initial backfill: fold every row with id > afterId in at once
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, demand_id, demand_date)
+            SELECT DISTINCT ON (product_id, store_id) product_id, store_id, id, date
+            FROM demand
+            WHERE id > :afterId AND product_id IS NOT NULL AND store_id IS NOT NULL
+            ORDER BY product_id, store_id, date DESC NULLS LAST, id DESC
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET demand_id = EXCLUDED.demand_id, demand_date = EXCLUDED.demand_date
+            WHERE
+            """ + DEMAND_IS_NEWER, nativeQuery = true)
+    int refreshDemand(long afterId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, inventory_id)
+            SELECT product_id, store_id, MAX(id)
+            FROM inventory
+            WHERE id > :afterId AND product_id IS NOT NULL AND store_id IS NOT NULL
+            GROUP BY product_id, store_id
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET inventory_id = GREATEST(latest_snapshot.inventory_id, EXCLUDED.inventory_id)""", nativeQuery = true)
+    int refreshInventory(long afterId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_snapshot (product_id, store_id, pricing_id)
+            SELECT product_id, store_id, MAX(id)
+            FROM pricing
+            WHERE id > :afterId AND product_id IS NOT NULL AND store_id IS NOT NULL
+            GROUP BY product_id, store_id
+            ON CONFLICT (product_id, store_id) DO UPDATE
+            SET pricing_id = GREATEST(latest_snapshot.pricing_id, EXCLUDED.pricing_id)""", nativeQuery = true)
+    int refreshPricing(long afterId);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM demand", nativeQuery = true)
+    long maxDemandId();
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM inventory", nativeQuery = true)
+    long maxInventoryId();
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM pricing", nativeQuery = true)
+    long maxPricingId();
+}
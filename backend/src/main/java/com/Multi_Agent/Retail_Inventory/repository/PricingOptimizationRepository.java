@@ -4,10 +4,24 @@ import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
 import com.Multi_Agent.Retail_Inventory.model.Pricing;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface PricingOptimizationRepository extends JpaRepository<Pricing,Long> {
     List<Pricing> findByProductIdAndStoreId(String productId, String storeId);
     Pricing findTopByProductIdAndStoreIdOrderByIdDesc(String productId, String storeId);
+
+    // Same row as findTop...OrderByIdDesc, resolved through the latest_snapshot primary key
+    @Query("select p from Pricing p where p.id = (select s.pricingId from LatestSnapshot s " +
+            "where s.id.productId = :productId and s.id.storeId = :storeId)")
+    Pricing findLatest(String productId, String storeId);
+
+    // Multi-key form of findLatest: productIds[n] and storeIds[n] form the n-th key
+    @Query(value = """
+            SELECT p.* FROM latest_snapshot s
+            JOIN pricing p ON p.id = s.pricing_id
+            WHERE (s.product_id, s.store_id) IN (
+                SELECT * FROM unnest(CAST(:productIds AS text[]), CAST(:storeIds AS text[])))""", nativeQuery = true)
+    List<Pricing> findLatestIn(String[] productIds, String[] storeIds);
 }
@@ -2,10 +2,19 @@ package com.Multi_Agent.Retail_Inventory.repository;
 
 import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ProcessedForecastResultRepository extends JpaRepository<ProcessedForecastResult,String> {
     List<ProcessedForecastResult> findByProcessedAtBetween(LocalDateTime localDateTime, LocalDateTime localDateTime1);
+
+    // Most recent result of each key; productIds[n] and storeIds[n] form the n-th key
+    @Query(value = """
+            SELECT DISTINCT ON (r.product_id, r.store_id) r.* FROM processed_forecast_result r
+            WHERE (r.product_id, r.store_id) IN (
+                SELECT * FROM unnest(CAST(:productIds AS text[]), CAST(:storeIds AS text[])))
+            ORDER BY r.product_id, r.store_id, r.id DESC""", nativeQuery = true)
+    List<ProcessedForecastResult> findLatestIn(String[] productIds, String[] storeIds);
 }
@@ -0,0 +1,111 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups single agent queries into batch requests for one endpoint. A query waits at most {@code linger}
+ * for others to join it; a batch is sent as soon as it holds {@code maxSize} queries or the linger window
+ * closes, and the dispatcher immediately starts filling the next one.
+ *
+ * Wire format: {@code POST <endpoint>/batch} with {@code {"queries": [...]}}, answered by
+ * {@code {"results": [...]}} in the same order. A result holding an {@code error} key fails only its own
+ * query (completed with {@code null}); a transport failure or a result count mismatch fails the batch.
+ */
+class AgentBatcher implements AutoCloseable {
+
+    private final String batchUrl;
+    private final RestTemplate restTemplate;
+    private final int maxSize;
+    private final long lingerNanos;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+
+    AgentBatcher(String batchUrl, RestTemplate restTemplate, int maxSize, Duration linger) {
+        this.batchUrl = batchUrl;
+        this.restTemplate = restTemplate;
+        this.maxSize = maxSize;
+        this.lingerNanos = linger.toNanos();
+        this.dispatcher = Thread.ofVirtual().name("agent-batcher " + batchUrl).start(this::dispatch);
+    }
+
+    CompletableFuture<Map<String, Object>> submit(String query) {
+        Pending pending = new Pending(query, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                List<Pending> batch = new ArrayList<>(maxSize);
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                senders.execute(() -> send(batch));
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            Map<String, Object> body = Map.of("queries", batch.stream().map(Pending::query).toList());
+            ResponseEntity<BatchResponse> response = restTemplate.exchange(batchUrl, HttpMethod.POST,
+                    new HttpEntity<>(body, headers), BatchResponse.class);
+            List<Map<String, Object>> results = response.getBody() != null ? response.getBody().results() : null;
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch of " + batch.size() + " got a malformed response from " + batchUrl);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                batch.get(i).result().complete(result != null && !result.containsKey("error") ? result : null);
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        dispatcher.interrupt();
+        senders.close();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Agent batcher closed"));
+        }
+    }
+
+    private record Pending(String query, CompletableFuture<Map<String, Object>> result) {
+    }
+
+    private record BatchResponse(List<Map<String, Object>> results) {
+    }
+}
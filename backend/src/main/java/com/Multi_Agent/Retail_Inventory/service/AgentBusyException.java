@@ -0,0 +1,15 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import java.time.Duration;
+
+/**
+ * Every permit of an agent endpoint stayed taken for {@code agent.resilience.bulkhead-max-wait}. The
+ * agent was never called, so this is not retried, and the circuit breaker, which sits inside the queue,
+ * never sees it.
+ */
+public class AgentBusyException extends IllegalStateException {
+
+    public AgentBusyException(String endpoint, Duration waited) {
+        super("No " + endpoint + " agent permit free after " + waited);
+    }
+}
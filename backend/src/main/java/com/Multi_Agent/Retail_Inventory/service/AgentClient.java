@@ -0,0 +1,265 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.config.AgentProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The one HTTP client every service uses to reach the agents. By default it is an Apache HttpClient with
+ * a shared keep-alive connection pool; {@code agent.http.http2=true} switches to the JDK client over
+ * HTTP/2, which multiplexes all calls over a few connections. Each endpoint gets its own read timeout,
+ * so a hung agent releases the calling thread instead of pinning it.
+ *
+ * Calls go through the response cache and {@link AgentResilience} (bulkhead, circuit breaker, retry);
+ * a call that still fails, or is rejected fast, yields {@link #ERROR_RESPONSE}. The forecasting job uses
+ * the typed variant instead, which streams the response through an {@link AgentResponses} reader. Latency is recorded as
+ * the {@code agent.requests} timer (tagged by endpoint and outcome, with a percentile histogram) and,
+ * for the pooled client, pool utilization as {@code agent.http.pool.*} gauges.
+ */
+@Component
+public class AgentClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentClient.class);
+
+    static final Map<String, Object> ERROR_RESPONSE = Map.of("error", "Unable to get AI prediction.");
+
+    private static final byte[] QUERY_PREFIX = "{\"query\": ".getBytes(StandardCharsets.US_ASCII);
+    private static final TypeReference<Map<String, Object>> RESPONSE_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private AgentProperties agentProperties;
+    @Autowired
+    private AgentResilience agentResilience;
+    @Autowired
+    private AgentResponseCache agentResponseCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<AgentEndpoint, RestTemplate> restTemplates = new EnumMap<>(AgentEndpoint.class);
+    private final Map<AgentEndpoint, AgentBatcher> batchers = new EnumMap<>(AgentEndpoint.class);
+    private CloseableHttpClient pooledClient;
+    private HttpClient http2Client;
+
+    @PostConstruct
+    void init() {
+        AgentProperties.Http http = agentProperties.getHttp();
+        if (http.isHttp2()) {
+            http2Client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(http.getConnectTimeout())
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+        } else {
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(http.getMaxConnections())
+                    .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                            .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                            .build())
+                    .build();
+            pooledClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> TimeValue.of(http.getKeepAlive()))
+                    .evictIdleConnections(TimeValue.of(http.getKeepAlive()))
+                    .evictExpiredConnections()
+                    .build();
+            registerPoolGauge("leased", "Connections currently in use", connectionManager, PoolStats::getLeased);
+            registerPoolGauge("available", "Idle connections kept alive", connectionManager, PoolStats::getAvailable);
+            registerPoolGauge("pending", "Callers waiting for a connection", connectionManager, PoolStats::getPending);
+            registerPoolGauge("max", "Maximum pool size", connectionManager, PoolStats::getMax);
+        }
+        AgentProperties.Batch batch = agentProperties.getBatch();
+        for (AgentEndpoint endpoint : AgentEndpoint.values()) {
+            RestTemplate restTemplate = new RestTemplate(requestFactory(endpoint));
+            restTemplates.put(endpoint, restTemplate);
+            if (batch.isEnabled()) {
+                batchers.put(endpoint, new AgentBatcher(url(endpoint) + "/batch", restTemplate,
+                        batch.getMaxSize(), batch.getLinger()));
+            }
+        }
+    }
+
+    private ClientHttpRequestFactory requestFactory(AgentEndpoint endpoint) {
+        AgentProperties.Http http = agentProperties.getHttp();
+        Duration readTimeout = agentProperties.endpoint(endpoint.path()).getReadTimeout();
+        if (readTimeout == null) {
+            readTimeout = http.getReadTimeout();
+        }
+        if (http2Client != null) {
+            JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(http2Client);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        }
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(pooledClient);
+        factory.setConnectionRequestTimeout(http.getConnectionRequestTimeout());
+        factory.setReadTimeout(readTimeout);
+        return factory;
+    }
+
+    private void registerPoolGauge(String name, String description, PoolingHttpClientConnectionManager connectionManager,
+                                   ToDoubleFunction<PoolStats> stat) {
+        Gauge.builder("agent.http.pool." + name, connectionManager, cm -> stat.applyAsDouble(cm.getTotalStats()))
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    public String url(AgentEndpoint endpoint) {
+        return agentProperties.getBaseUrl() + "/" + endpoint.path();
+    }
+
+    /**
+     * Sends {@code query} to the agent and returns its JSON response, or {@code {"error": ...}} if the
+     * call failed.
+     */
+    public Map<String, Object> call(AgentEndpoint endpoint, String query) {
+        String url = url(endpoint);
+        Map<String, Object> response = agentResponseCache.get(url, query, () -> {
+            try {
+                return agentResilience.call(endpoint, () -> post(endpoint, url, query));
+            } catch (RuntimeException e) {
+                log.warn("Error calling AI Model {}: {}", endpoint.path(), e.toString());
+                return null;
+            }
+        });
+        return response != null ? response : ERROR_RESPONSE;
+    }
+
+    /**
+     * Sends {@code query} to the agent and reads its response with {@code reader} straight off the wire.
+     * Unlike {@link #call(AgentEndpoint, String)} this throws when the call fails, and with an
+     * {@link AgentSchemaException} when the response does not have the expected shape.
+     */
+    public <T> T call(AgentEndpoint endpoint, String query, Class<T> type, AgentResponses.Reader<T> reader) {
+        String url = url(endpoint);
+        return agentResponseCache.getTyped(url, query, type,
+                () -> agentResilience.call(endpoint, () -> post(endpoint, url, query, reader)));
+    }
+
+    // Throws on any failure so the breaker and retry see it
+    private Map<String, Object> post(AgentEndpoint endpoint, String url, String query) {
+        return timed(endpoint, () -> {
+            AgentBatcher batcher = batchers.get(endpoint);
+            if (batcher != null) {
+                return batchResult(batcher, query);
+            }
+            Map<String, Object> response = restTemplates.get(endpoint).execute(url, HttpMethod.POST,
+                    request -> writeRequest(request, query),
+                    body -> objectMapper.readValue(body.getBody(), RESPONSE_TYPE));
+            if (response == null) {
+                throw new IllegalStateException("Agent returned an empty body");
+            }
+            return response;
+        });
+    }
+
+    private <T> T post(AgentEndpoint endpoint, String url, String query, AgentResponses.Reader<T> reader) {
+        return timed(endpoint, () -> {
+            AgentBatcher batcher = batchers.get(endpoint);
+            if (batcher != null) {
+                // The batch protocol hands back parsed maps; read them through the same schema checks
+                try {
+                    return AgentResponses.read(objectMapper.writeValueAsBytes(batchResult(batcher, query)), reader);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return restTemplates.get(endpoint).execute(url, HttpMethod.POST, request -> writeRequest(request, query),
+                    response -> AgentResponses.read(response.getBody(), reader));
+        });
+    }
+
+    private static Map<String, Object> batchResult(AgentBatcher batcher, String query) {
+        Map<String, Object> result = batcher.submit(query).join();
+        if (result == null) {
+            throw new IllegalStateException("Agent returned an error result");
+        }
+        return result;
+    }
+
+    // Records agent.requests around one attempt
+    private <T> T timed(AgentEndpoint endpoint, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = request.get();
+            outcome = "success";
+            return result;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            sample.stop(requestTimer(meterRegistry, endpoint, outcome));
+        }
+    }
+
+    static Timer requestTimer(MeterRegistry meterRegistry, AgentEndpoint endpoint, String outcome) {
+        return Timer.builder("agent.requests")
+                .description("Round trip time of agent calls")
+                .tag("endpoint", endpoint.path())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static void writeRequest(ClientHttpRequest request, String query) throws IOException {
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        writeRequestBody(query, request.getBody());
+    }
+
+    /** Writes {@code {"query": "..."}} with the query JSON-escaped, straight to the request stream. */
+    public static void writeRequestBody(String query, OutputStream out) throws IOException {
+        out.write(QUERY_PREFIX);
+        PromptTemplate.writeJsonString(query, out);
+        out.write('}');
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        batchers.values().forEach(AgentBatcher::close);
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        if (http2Client != null) {
+            http2Client.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+/**
+ * The routes exposed by the agent service.
+ */
+public enum AgentEndpoint {
+    FORECAST("forecast"),
+    INVENTORY("inventory"),
+    PRICING("priceOptimization");
+
+    private final String path;
+
+    AgentEndpoint(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+}
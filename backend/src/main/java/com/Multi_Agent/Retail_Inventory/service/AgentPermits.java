@@ -0,0 +1,114 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint's concurrency limit, shared by blocking and reactive calls. Callers that find every
+ * permit taken queue up and are granted permits in arrival order as calls complete; a caller still
+ * queued after {@code maxWait} fails with {@link AgentBusyException}. A blocking caller waits on its
+ * place in the queue, a reactive one subscribes to it, so neither polls.
+ */
+class AgentPermits {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final String name;
+    private final int limit;
+    private final Duration maxWait;
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inUse;
+
+    AgentPermits(String name, int limit, Duration maxWait) {
+        this.name = name;
+        this.limit = limit;
+        this.maxWait = maxWait;
+    }
+
+    <T> T call(Supplier<T> call) {
+        CompletableFuture<Void> permit = acquire();
+        try {
+            try {
+                permit.join();
+            } catch (CompletionException e) {
+                throw busy(e.getCause());
+            }
+            return call.get();
+        } finally {
+            release(permit);
+        }
+    }
+
+    <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> permit = acquire();
+            // doFinally runs once however the subscriber ends, including a cancel while still queued
+            return Mono.fromFuture(permit, true)
+                    .onErrorMap(this::busy)
+                    .then(call)
+                    .doFinally(signal -> release(permit));
+        });
+    }
+
+    synchronized int available() {
+        return limit - inUse;
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+
+    private CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (inUse < limit && waiters.isEmpty()) {
+                inUse++;
+                return GRANTED;
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        waiter.orTimeout(maxWait.toNanos(), TimeUnit.NANOSECONDS).whenComplete((granted, failure) -> {
+            if (failure != null) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return waiter;
+    }
+
+    private RuntimeException busy(Throwable failure) {
+        return failure instanceof TimeoutException ? new AgentBusyException(name, maxWait)
+                : failure instanceof RuntimeException e ? e : new IllegalStateException(failure);
+    }
+
+    // Gives the permit back if this caller held one: a waiter that timed out or was cancelled never did.
+    // Cancelling first settles the race with a grant arriving at the same moment.
+    private void release(CompletableFuture<Void> permit) {
+        if (permit.cancel(false) || permit.isCompletedExceptionally()) {
+            return;
+        }
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // The permit passes straight to the next waiter, unless it gave up in the meantime
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+
+/**
+ * The natural-language queries sent to the agents, shared by every service that calls them. The
+ * patterns are compiled once into {@link PromptTemplate}s; the pattern strings stay public so the
+ * benchmarks can compare against {@link String#format}.
+ */
+public final class AgentPrompts {
+
+    public static final String SALES_PATTERN =
+            "Predict sales quantity for Product ID: %s in Store ID: %s, Current Sales: %d, Price: %.2f, " +
+                    "Promotions: %s, Seasonality: %s, External Factors: %s, Demand Trend: %s, Customer Segment: %s of month: %s.";
+    public static final String REORDER_PATTERN =
+            "Predict stock reorder amount for Product ID: %s in Store ID: %s. Supplier Lead Time: %d, Stockout Frequency: %d, " +
+                    "Reorder Point: %d, Expiry Date: %s, Warehouse Capacity: %d, Order Fullfillment Time: %d, Predicted sales: %d.";
+    public static final String PRICING_PATTERN =
+            "Predict optimal price for Product ID: %s in Store ID: %s. Current Price: %.2f" +
+                    "Considering Following Factors Competitor Prices: %.2f,Discounts: %.2f,Sales Volume: %d, Customer Reviews: %s, Return Rate: %.2f, Strorage Cost: %.2f, Elasticity Index: %.2f,Strategy :%s";
+
+    private static final PromptTemplate SALES = PromptTemplate.compile(SALES_PATTERN);
+    private static final PromptTemplate REORDER = PromptTemplate.compile(REORDER_PATTERN);
+    private static final PromptTemplate PRICING = PromptTemplate.compile(PRICING_PATTERN);
+
+    private AgentPrompts() {
+    }
+
+    public static String sales(Demand demand, String month) {
+        return SALES.render(
+                demand.getProductId(), demand.getStoreId(), demand.getSalesQuantity(),
+                demand.getPrice(), demand.getPromotions(), demand.getSeasonalityFactors(),
+                demand.getExternalFactors(), demand.getDemandTrend(), demand.getCustomerSegments(),month
+        );
+    }
+
+    public static String reorder(Inventory latestInveto, int predictedDemand) {
+        return REORDER.render(
+                latestInveto.getProductId(), latestInveto.getStoreId(),
+                latestInveto.getSupplierLeadTime(),latestInveto.getStockoutFrequency(),
+                latestInveto.getReorderPoint(),latestInveto.getExpiryDate(),
+                latestInveto.getWarehouseCapacity(),latestInveto.getOrderFulfillmentTime(),predictedDemand
+        );
+    }
+
+    public static String pricing(Pricing latestPricing, String strategy) {
+        return PRICING.render(
+                latestPricing.getProductId(),latestPricing.getStoreId(),latestPricing.getPrice(),
+                latestPricing.getCompetitorPrices(),latestPricing.getDiscounts(),
+                latestPricing.getSalesVolume(),latestPricing.getCustomerReviews(),
+                latestPricing.getReturnRate(), latestPricing.getStorageCost(),latestPricing.getElasticityIndex(),strategy
+        );
+    }
+}
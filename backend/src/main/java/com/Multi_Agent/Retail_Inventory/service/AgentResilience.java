@@ -0,0 +1,133 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.config.AgentProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every agent call in a per-endpoint retry, bulkhead and circuit breaker, outermost first. The
+ * permit is taken outside the breaker, so time spent queueing never counts as a slow call. The
+ * bulkhead caps concurrent calls at {@code agent.concurrency.<path>} (falling back to
+ * {@code agent.concurrency.default}), blocking and reactive calls together; callers queue for a permit
+ * in arrival order and fail after {@code agent.resilience.bulkhead-max-wait}. Once an endpoint's
+ * failure or slow-call rate crosses its threshold the breaker opens and calls fail immediately until
+ * it lets trial calls through again. Retries use exponential backoff with jitter and are skipped for
+ * 4xx responses, open breakers and full bulkheads.
+ *
+ * Breaker state and retry counts are exported as the resilience4j.* meters, free and queued permits as
+ * agent.bulkhead.available and agent.bulkhead.waiting, all tagged with the endpoint path.
+ */
+@Component
+public class AgentResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentResilience.class);
+
+    @Autowired
+    private AgentProperties agentProperties;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${agent.concurrency.default:16}")
+    private int defaultLimit;
+
+    private final Map<AgentEndpoint, AgentPermits> bulkheads = new EnumMap<>(AgentEndpoint.class);
+    private final Map<AgentEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(AgentEndpoint.class);
+    private final Map<AgentEndpoint, Retry> retries = new EnumMap<>(AgentEndpoint.class);
+
+    @PostConstruct
+    void init() {
+        AgentProperties.Resilience resilience = agentProperties.getResilience();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumCalls())
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDuration())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .waitDurationInOpenState(resilience.getOpenStateWait())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getHalfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreException(AgentResilience::isClientError)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(resilience.getMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(resilience.getInitialBackoff(),
+                        resilience.getBackoffMultiplier(), resilience.getJitter(), resilience.getMaxBackoff()))
+                .retryOnException(e -> !(isClientError(e)
+                        || e instanceof CallNotPermittedException
+                        || e instanceof AgentSchemaException
+                        || e instanceof AgentBusyException))
+                .build());
+
+        for (AgentEndpoint endpoint : AgentEndpoint.values()) {
+            int limit = environment.getProperty("agent.concurrency." + endpoint.path(), Integer.class, defaultLimit);
+            AgentPermits permits = new AgentPermits(endpoint.path(), limit, resilience.getBulkheadMaxWait());
+            bulkheads.put(endpoint, permits);
+            Gauge.builder("agent.bulkhead.available", permits, AgentPermits::available)
+                    .tag("name", endpoint.path())
+                    .register(meterRegistry);
+            Gauge.builder("agent.bulkhead.waiting", permits, AgentPermits::waiting)
+                    .tag("name", endpoint.path())
+                    .register(meterRegistry);
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(endpoint.path());
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Agent {} circuit breaker: {}", endpoint.path(), event.getStateTransition()));
+            circuitBreakers.put(endpoint, circuitBreaker);
+            retries.put(endpoint, retryRegistry.retry(endpoint.path()));
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+    }
+
+    public <T> T call(AgentEndpoint endpoint, Supplier<T> call) {
+        AgentPermits bulkhead = bulkheads.get(endpoint);
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakers.get(endpoint), call);
+        return Retry.decorateSupplier(retries.get(endpoint), () -> bulkhead.call(guarded)).get();
+    }
+
+    /**
+     * Reactive counterpart of {@link #call}: same bulkhead, circuit breaker and retry policy, but no
+     * thread ever blocks, waiting for a permit included.
+     */
+    public <T> Mono<T> decorate(AgentEndpoint endpoint, Mono<T> call) {
+        Mono<T> guarded = call.transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(endpoint)));
+        return bulkheads.get(endpoint).limit(guarded)
+                .transformDeferred(RetryOperator.of(retries.get(endpoint)));
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof HttpClientErrorException
+                || e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+
+    public CircuitBreaker.State state(AgentEndpoint endpoint) {
+        return circuitBreakers.get(endpoint).getState();
+    }
+}
@@ -0,0 +1,217 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Memoizes agent responses by endpoint and prompt. The key is the endpoint URL plus a SHA-256 of the
+ * prompt with whitespace normalized, so the same inputs in the same month are answered from memory.
+ * Concurrent requests for the same key share one in-flight agent call; failed calls (null responses)
+ * are not cached. Raw JSON responses and typed ones ({@link AgentResponses}) are cached side by side.
+ *
+ * With {@code agent.cache.file} set, unexpired entries are written to that file on shutdown and loaded
+ * again on startup with their remaining lifetime.
+ */
+@Component
+public class AgentResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentResponseCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${agent.cache.enabled:true}")
+    private boolean enabled;
+    @Value("${agent.cache.file:}")
+    private String file;
+
+    // Runs Caffeine's maintenance and removal work; closed on shutdown so none of it is still running
+    // when the entries are persisted
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncCache<String, Object> cache;
+
+    public AgentResponseCache(MeterRegistry meterRegistry,
+                              @Value("${agent.cache.max-size:50000}") long maxSize,
+                              @Value("${agent.cache.ttl:1h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expireAfterWrite(ttl))
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "agentResponses");
+        Gauge.builder("agent.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of agent calls answered from the response cache")
+                .register(meterRegistry);
+    }
+
+    // Variable expiry with a fixed TTL, so entries loaded from the file can keep their remaining lifetime
+    private static Expiry<String, Object> expireAfterWrite(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Object value, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached response for this endpoint and prompt, or runs {@code call} and caches its
+     * result. A {@code null} result is returned as-is and not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> get(String url, String query, Supplier<Map<String, Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return (Map<String, Object>) cache.get(key(url, query), key -> call.get()).join();
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}: {@code call} starts the agent call and returns its future.
+     * A future that completes with {@code null} is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, Object>> getAsync(String url, String query,
+                                                           Supplier<CompletableFuture<Map<String, Object>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return cache.get(key(url, query), (key, executor) -> call.get().thenApply(Object.class::cast))
+                .thenApply(response -> (Map<String, Object>) response);
+    }
+
+    /**
+     * Like {@link #get}, for responses already parsed into {@code type}. Typed entries are kept apart
+     * from the raw ones and are not persisted; a call that throws is not cached either.
+     */
+    public <T> T getTyped(String url, String query, Class<T> type, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        try {
+            return type.cast(cache.get(key(url, query) + '@' + type.getSimpleName(), key -> call.get()).join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    static String key(String url, String query) {
+        String normalized = WHITESPACE.matcher(query.strip()).replaceAll(" ");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return url + '#' + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        if (!enabled || file.isBlank() || !Files.exists(Path.of(file))) {
+            return;
+        }
+        try {
+            List<PersistedEntry> entries = objectMapper.readValue(Path.of(file).toFile(), new TypeReference<>() {});
+            Policy.VarExpiration<String, Object> expiration = variableExpiration();
+            long now = System.currentTimeMillis();
+            int loaded = 0;
+            for (PersistedEntry entry : entries) {
+                long remaining = entry.expiresAt() - now;
+                if (remaining > 0) {
+                    expiration.put(entry.key(), entry.response(), remaining, TimeUnit.MILLISECONDS);
+                    loaded++;
+                }
+            }
+            log.info("Loaded {} agent responses from {}", loaded, file);
+        } catch (IOException e) {
+            log.warn("Could not load agent response cache from {}: {}", file, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+        persist();
+    }
+
+    @SuppressWarnings("unchecked")
+    void persist() {
+        if (!enabled || file.isBlank()) {
+            return;
+        }
+        Policy.VarExpiration<String, Object> expiration = variableExpiration();
+        long now = System.currentTimeMillis();
+        List<PersistedEntry> entries = new ArrayList<>();
+        cache.synchronous().asMap().forEach((key, response) -> {
+            if (response instanceof Map<?, ?> raw) {
+                expiration.getExpiresAfter(key, TimeUnit.MILLISECONDS).ifPresent(remaining ->
+                        entries.add(new PersistedEntry(key, now + remaining, (Map<String, Object>) raw)));
+            }
+        });
+        try {
+            Path target = Path.of(file);
+            Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "agent-cache", ".tmp");
+            objectMapper.writeValue(temp.toFile(), entries);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Persisted {} agent responses to {}", entries.size(), file);
+        } catch (IOException e) {
+            log.warn("Could not persist agent response cache to {}: {}", file, e.toString());
+        }
+    }
+
+    private Policy.VarExpiration<String, Object> variableExpiration() {
+        Cache<String, Object> synchronous = cache.synchronous();
+        return synchronous.policy().expireVariably().orElseThrow();
+    }
+
+    record PersistedEntry(String key, long expiresAt, Map<String, Object> response) {
+    }
+}
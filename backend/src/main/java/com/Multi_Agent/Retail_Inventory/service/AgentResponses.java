@@ -0,0 +1,246 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed responses of the three agents, read token by token with a streaming {@link JsonParser}, without
+ * building an intermediate Map. Only the fields the job stores are read; anything else (including
+ * product_id and store_id, which the job already knows) is skipped. A response that does not match
+ * the documented shape fails fast with an {@link AgentSchemaException} naming the offending field.
+ */
+public final class AgentResponses {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** Reads one agent response from a parser positioned before its first token. */
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /** {@code {"forecast": {"predicted_demand": 412, "confidence_interval": [380, 445], "method_used": "..."}}} */
+    public record Forecast(int predictedDemand, int lowerConfidence, int upperConfidence, String methodUsed) {
+        public void applyTo(ProcessedForecastResult result) {
+            result.setPredictedDemand(predictedDemand);
+            result.setLowerConfidence(lowerConfidence);
+            result.setUpperConfidence(upperConfidence);
+            result.setForecastMethod(methodUsed);
+        }
+
+        /** The {@code forecast} section as the agent writes it, for the endpoints that pass it through. */
+        public Map<String, Object> toResponse(String productId, String storeId, String month) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("product_id", productId);
+            response.put("store_id", storeId);
+            response.put("month", month);
+            response.put("predicted_demand", predictedDemand);
+            response.put("confidence_interval", List.of(lowerConfidence, upperConfidence));
+            response.put("method_used", methodUsed);
+            return response;
+        }
+    }
+
+    /** {@code {"reorder_prediction": {"recommended_order": 260, "justification": "..."}}} */
+    public record Reorder(int recommendedOrder, String justification) {
+        public void applyTo(ProcessedForecastResult result) {
+            result.setRecommendedOrder(recommendedOrder);
+            result.setReorderJustification(justification);
+        }
+    }
+
+    /**
+     * {@code {"prediction": {"current_price": 49.99, "suggested_price": 52.49, "projected_profit_margin": "18%",
+     * "strategy_alignment": "...", "risk_level": "Low"}}}
+     */
+    public record PriceRecommendation(double currentPrice, double suggestedPrice, String projectedProfitMargin,
+                                      String strategyAlignment, String riskLevel) {
+        public void applyTo(ProcessedForecastResult result) {
+            result.setCurrentPrice(currentPrice);
+            result.setSuggestedPrice(suggestedPrice);
+            result.setProjectedProfitMargin(projectedProfitMargin);
+            result.setStrategyAlignment(strategyAlignment);
+            result.setRiskLevel(riskLevel);
+        }
+    }
+
+    public static final Reader<Forecast> FORECAST = parser -> section(parser, "forecast", AgentResponses::forecast);
+    public static final Reader<Reorder> REORDER = parser -> section(parser, "reorder_prediction", AgentResponses::reorder);
+    public static final Reader<PriceRecommendation> PRICING = parser -> section(parser, "prediction", AgentResponses::pricing);
+
+    private AgentResponses() {
+    }
+
+    /** Network errors while reading {@code body} propagate as IOException, so they are retried. */
+    public static <T> T read(InputStream body, Reader<T> reader) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            return read(parser, reader);
+        }
+    }
+
+    public static <T> T read(byte[] body, Reader<T> reader) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            return read(parser, reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Malformed JSON is reported as a schema error; other I/O errors propagate. */
+    public static <T> T read(JsonParser parser, Reader<T> reader) throws IOException {
+        try {
+            return reader.read(parser);
+        } catch (JsonProcessingException e) {
+            throw new AgentSchemaException("Malformed agent response: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // The top-level object: finds the named section, reports an {"error": ...} body, skips the rest
+    private static <T> T section(JsonParser parser, String name, Reader<T> body) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new AgentSchemaException("Agent response is not a JSON object");
+        }
+        T section = null;
+        while (nextField(parser)) {
+            String field = parser.currentName();
+            if (field.equals(name)) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    throw new AgentSchemaException(name + " is not an object: " + parser.getText());
+                }
+                section = body.read(parser);
+            } else if (field.equals("error")) {
+                throw new AgentSchemaException("Agent returned an error: " + parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (section == null) {
+            throw new AgentSchemaException("Agent response has no " + name + " section");
+        }
+        return section;
+    }
+
+    private static Forecast forecast(JsonParser parser) throws IOException {
+        Integer predictedDemand = null;
+        Integer lower = null;
+        Integer upper = null;
+        String methodUsed = null;
+        while (nextField(parser)) {
+            switch (parser.currentName()) {
+                case "predicted_demand" -> predictedDemand = intValue(parser, "forecast.predicted_demand");
+                case "confidence_interval" -> {
+                    expect(parser, JsonToken.START_ARRAY, "forecast.confidence_interval");
+                    parser.nextToken();
+                    lower = intValue(parser, "forecast.confidence_interval[0]");
+                    parser.nextToken();
+                    upper = intValue(parser, "forecast.confidence_interval[1]");
+                    if (parser.nextToken() != JsonToken.END_ARRAY) {
+                        throw new AgentSchemaException("forecast.confidence_interval has more than two bounds");
+                    }
+                }
+                case "method_used" -> methodUsed = text(parser, "forecast.method_used");
+                default -> parser.skipChildren();
+            }
+        }
+        return new Forecast(required(predictedDemand, "forecast.predicted_demand"),
+                required(lower, "forecast.confidence_interval"), required(upper, "forecast.confidence_interval"),
+                methodUsed);
+    }
+
+    private static Reorder reorder(JsonParser parser) throws IOException {
+        Integer recommendedOrder = null;
+        String justification = null;
+        while (nextField(parser)) {
+            switch (parser.currentName()) {
+                case "recommended_order" -> recommendedOrder = intValue(parser, "reorder_prediction.recommended_order");
+                case "justification" -> justification = text(parser, "reorder_prediction.justification");
+                default -> parser.skipChildren();
+            }
+        }
+        return new Reorder(required(recommendedOrder, "reorder_prediction.recommended_order"), justification);
+    }
+
+    private static PriceRecommendation pricing(JsonParser parser) throws IOException {
+        Double currentPrice = null;
+        Double suggestedPrice = null;
+        String margin = null;
+        String alignment = null;
+        String risk = null;
+        while (nextField(parser)) {
+            switch (parser.currentName()) {
+                case "current_price" -> currentPrice = doubleValue(parser, "prediction.current_price");
+                case "suggested_price" -> suggestedPrice = doubleValue(parser, "prediction.suggested_price");
+                case "projected_profit_margin" -> margin = text(parser, "prediction.projected_profit_margin");
+                case "strategy_alignment" -> alignment = text(parser, "prediction.strategy_alignment");
+                case "risk_level" -> risk = text(parser, "prediction.risk_level");
+                default -> parser.skipChildren();
+            }
+        }
+        return new PriceRecommendation(required(currentPrice, "prediction.current_price"),
+                required(suggestedPrice, "prediction.suggested_price"), margin, alignment, risk);
+    }
+
+    // Advances to the next field's value; false at the end of the current object
+    private static boolean nextField(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_OBJECT) {
+            return false;
+        }
+        if (token != JsonToken.FIELD_NAME) {
+            throw new AgentSchemaException("Unexpected " + token + " in agent response");
+        }
+        parser.nextToken();
+        return true;
+    }
+
+    private static int intValue(JsonParser parser, String field) throws IOException {
+        expectNumber(parser, field);
+        return parser.getValueAsInt();
+    }
+
+    private static double doubleValue(JsonParser parser, String field) throws IOException {
+        expectNumber(parser, field);
+        return parser.getValueAsDouble();
+    }
+
+    // Any scalar is accepted as text (e.g. a margin of 18 instead of "18%"); objects and arrays are not
+    private static String text(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new AgentSchemaException(field + " should be text but is " + token);
+        }
+        return parser.getText();
+    }
+
+    private static void expectNumber(JsonParser parser, String field) throws IOException {
+        if (!parser.currentToken().isNumeric()) {
+            throw new AgentSchemaException(field + " should be a number but is " + parser.currentToken());
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected, String field) {
+        if (parser.currentToken() != expected) {
+            throw new AgentSchemaException(field + " should be " + expected + " but is " + parser.currentToken());
+        }
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new AgentSchemaException("Agent response is missing " + field);
+        }
+        return value;
+    }
+}
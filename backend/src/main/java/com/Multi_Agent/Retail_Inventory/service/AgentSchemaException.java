@@ -0,0 +1,16 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+/**
+ * An agent answered, but not in the documented shape: malformed JSON, an {@code error} body, or a
+ * section or field that is missing or of the wrong type. Not retried; the item fails.
+ */
+public class AgentSchemaException extends IllegalStateException {
+
+    public AgentSchemaException(String message) {
+        super(message);
+    }
+
+    public AgentSchemaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk ingestion request. {@code errors} holds the first rejected lines with their reason,
+ * capped so a badly broken file cannot blow up the response.
+ */
+public record BulkIngestResult(long accepted, long rejected, List<String> errors, long elapsedMillis,
+                               double rowsPerSecond) {
+
+    static BulkIngestResult of(long accepted, long rejected, List<String> errors, long elapsedMillis) {
+        double rowsPerSecond = elapsedMillis == 0 ? accepted : accepted * 1000.0 / elapsedMillis;
+        return new BulkIngestResult(accepted, rejected, errors, elapsedMillis, rowsPerSecond);
+    }
+}
@@ -0,0 +1,259 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Streams NDJSON or CSV request bodies straight into PostgreSQL with {@code COPY ... FROM STDIN}.
+ * The body is read one row at a time and every accepted row is written to the COPY stream as soon as
+ * it is parsed, so memory use does not depend on the payload size. Rows that fail to parse or lack a
+ * product/store id are rejected individually; the rest of the request is committed in one transaction.
+ *
+ * CSV bodies need a header row. Headers are matched to the JSON property names after lower-casing,
+ * dropping any "(unit)" suffix and replacing spaces with underscores, so both {@code product_id} and the
+ * agents' "Product ID" / "Supplier Lead Time (days)" exports are accepted.
+ */
+@Service
+public class BulkIngestService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    public static final BulkTable<Demand> DEMAND = new BulkTable<>("demand", Demand.class,
+            List.of("product_id", "date", "store_id", "sales_quantity", "price", "promotions",
+                    "seasonality_factors", "external_factors", "demand_trend", "customer_segments"),
+            d -> new Object[]{d.getProductId(), d.getDate(), d.getStoreId(), d.getSalesQuantity(), d.getPrice(),
+                    d.getPromotions(), d.getSeasonalityFactors(), d.getExternalFactors(), d.getDemandTrend(),
+                    d.getCustomerSegments()},
+            Demand::getProductId, Demand::getStoreId);
+
+    public static final BulkTable<Inventory> INVENTORY = new BulkTable<>("inventory", Inventory.class,
+            List.of("product_id", "store_id", "stock_levels", "supplier_lead_time", "stockout_frequency",
+                    "reorder_point", "expiry_date", "warehouse_capacity", "order_fulfillment_time"),
+            i -> new Object[]{i.getProductId(), i.getStoreId(), i.getStockLevels(), i.getSupplierLeadTime(),
+                    i.getStockoutFrequency(), i.getReorderPoint(), i.getExpiryDate(), i.getWarehouseCapacity(),
+                    i.getOrderFulfillmentTime()},
+            Inventory::getProductId, Inventory::getStoreId);
+
+    public static final BulkTable<Pricing> PRICING = new BulkTable<>("pricing", Pricing.class,
+            List.of("product_id", "store_id", "price", "competitor_prices", "discounts", "sales_volume",
+                    "customer_reviews", "return_rate", "storage_cost", "elasticity_index"),
+            p -> new Object[]{p.getProductId(), p.getStoreId(), p.getPrice(), p.getCompetitorPrices(),
+                    p.getDiscounts(), p.getSalesVolume(), p.getCustomerReviews(), p.getReturnRate(),
+                    p.getStorageCost(), p.getElasticityIndex()},
+            Pricing::getProductId, Pricing::getStoreId);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private LatestSnapshotService latestSnapshotService;
+
+    private final CsvMapper csvMapper = (CsvMapper) new CsvMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public <T> BulkIngestResult ingest(BulkTable<T> table, InputStream body, MediaType contentType) {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowCounts counts = transactionTemplate.execute(status -> {
+            long lastIdBefore = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + table.table(), Long.class);
+            RowCounts copied = jdbcTemplate.execute((ConnectionCallback<RowCounts>) connection -> {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (OutputStream copy = new PGCopyOutputStream(pgConnection, table.copySql(), COPY_BUFFER_SIZE)) {
+                    return copyRows(table, reader, contentType, copy);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (copied.accepted > 0) {
+                latestSnapshotService.refresh(table.type(), lastIdBefore);
+            }
+            return copied;
+        });
+        if (counts.accepted > 0) {
+            latestSnapshotCache.bulkLoaded(table.type());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return BulkIngestResult.of(counts.accepted, counts.errors.size() + counts.unreportedRejects,
+                counts.errors, elapsedMillis);
+    }
+
+    <T> RowCounts copyRows(BulkTable<T> table, BufferedReader reader, MediaType contentType,
+                           OutputStream copy) throws IOException {
+        if (NDJSON.isCompatibleWith(contentType)) {
+            return copyNdjsonRows(table, reader, copy);
+        }
+        if (CSV.isCompatibleWith(contentType)) {
+            return copyCsvRows(table, reader, copy);
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType + ", expected "
+                + NDJSON + " or " + CSV);
+    }
+
+    private <T> RowCounts copyNdjsonRows(BulkTable<T> table, BufferedReader reader, OutputStream copy) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(table.type());
+        RowCounts counts = new RowCounts();
+        StringBuilder line = new StringBuilder(256);
+        String text;
+        long lineNumber = 0;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                copyRow(table, rowReader.readValue(text), lineNumber, counts, line, copy);
+            } catch (JsonProcessingException e) {
+                counts.reject(lineNumber, e.getOriginalMessage());
+            }
+        }
+        return counts;
+    }
+
+    // Rows are read by the CSV parser rather than split on line breaks, so quoted fields may hold commas
+    // and newlines. A row is reported by the line it starts on.
+    private <T> RowCounts copyCsvRows(BulkTable<T> table, BufferedReader reader, OutputStream copy) throws IOException {
+        RowCounts counts = new RowCounts();
+        StringBuilder line = new StringBuilder(256);
+        try (MappingIterator<T> rows = csvMapper.readerFor(table.type())
+                .with(CsvSchema.emptySchema().withHeader())
+                .withFeatures(CsvParser.Feature.SKIP_EMPTY_LINES, CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .readValues(reader)) {
+            CsvParser parser = (CsvParser) rows.getParser();
+            CsvSchema header = parser.getSchema();
+            if (header.size() == 0) {
+                throw new IllegalArgumentException("CSV body has no header row");
+            }
+            // The parser has only read the header so far; the rows bind through the normalized names
+            CsvSchema.Builder columns = header.rebuild().clearColumns();
+            for (CsvSchema.Column column : header) {
+                columns.addColumn(normalizeHeader(column.getName()));
+            }
+            parser.setSchema(columns.build());
+            while (true) {
+                long lineNumber = rows.getCurrentLocation().getLineNr();
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    lineNumber = rows.getCurrentLocation().getLineNr();
+                } catch (JsonProcessingException e) {
+                    // Malformed CSV (an unclosed quote): the parser cannot find the next row
+                    counts.reject(lineNumber, e.getOriginalMessage());
+                    break;
+                }
+                try {
+                    copyRow(table, rows.nextValue(), lineNumber, counts, line, copy);
+                } catch (JsonProcessingException e) {
+                    counts.reject(lineNumber, e.getOriginalMessage());
+                }
+            }
+        }
+        return counts;
+    }
+
+    private <T> void copyRow(BulkTable<T> table, T row, long lineNumber, RowCounts counts, StringBuilder line,
+                             OutputStream copy) throws IOException {
+        if (table.productId().apply(row) == null || table.storeId().apply(row) == null) {
+            counts.reject(lineNumber, "product_id and store_id are required");
+            return;
+        }
+        line.setLength(0);
+        appendCsvRow(line, table.values().apply(row));
+        copy.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        counts.accepted++;
+    }
+
+    static String normalizeHeader(String header) {
+        String name = header.strip();
+        int unit = name.indexOf('(');
+        if (unit > 0) {
+            name = name.substring(0, unit).strip();
+        }
+        return name.toLowerCase(Locale.ROOT).replace(' ', '_');
+    }
+
+    // COPY's CSV format: unquoted empty field is NULL, everything else is quoted with doubled quotes
+    static void appendCsvRow(StringBuilder line, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number) {
+                line.append(value);
+            } else {
+                line.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        line.append('\n');
+    }
+
+    /**
+     * Describes how one entity maps onto its table for COPY.
+     */
+    public record BulkTable<T>(String table, Class<T> type, List<String> columns, Function<T, Object[]> values,
+                               Function<T, String> productId, Function<T, String> storeId) {
+
+        String copySql() {
+            return "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+    }
+
+    static class RowCounts {
+        long accepted;
+        long unreportedRejects;
+        final List<String> errors = new ArrayList<>();
+
+        void reject(long lineNumber, String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            } else {
+                unreportedRejects++;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.Multi_Agent.Retail_Inventory.service;
 
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,13 +18,23 @@ public class DemandForecastingService {
     private AIModelService AIModelService;
     @Autowired
     private InventoryMonitoringService inventoryMonitoringService;
+    @Autowired
+    private LatestSnapshotService latestSnapshotService;
+    @Autowired
+    private DemandSeriesStore demandSeriesStore;
+    @Transactional
     public ResponseEntity<?> updateOrAddProduct(Demand demand) {
+        boolean update = demand.getId() != null;
         demandForecastingRepository.save(demand);
+        latestSnapshotService.demandSaved(demand);
+        if (update) {
+            demandSeriesStore.rowsChanged();
+        }
         return new ResponseEntity<>(demand, HttpStatus.OK);
     }
 
-    public List<Demand> getHistoricalSalesData(String productId, String storeId) {
-        return demandForecastingRepository.findByProductIdAndStoreId(productId, storeId);
+    public List<DemandSeriesStore.DemandTrend> getTopTrends(int window, int limit) {
+        return demandSeriesStore.topTrends(window, limit);
     }
 
 //    public Demand predictSales(Demand demand) {
@@ -0,0 +1,326 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.repository.DemandSeriesReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Demand history held in memory as columns: per (productId, storeId), primitive arrays of epoch days,
+ * sales quantities and prices, oldest first. Product and store ids are dictionary-encoded, so each id
+ * string is held once and a key is two ints. Analytics and the in-process forecaster read these arrays
+ * instead of loading one Demand entity per data point.
+ *
+ * The store is append-only: every {@code demand.series.refresh-interval-ms} it reads the rows with an id
+ * above the highest one it has seen. Editing an existing row marks the store stale, and the next refresh
+ * rebuilds it from scratch. A row committed after a higher id was already read (a bulk load running
+ * alongside single inserts) is below the watermark, so the store also rebuilds every
+ * {@code demand.series.rebuild-interval}; that bounds how long such a row stays missing. A rebuild
+ * loads into a new copy while readers keep using the current one. Readers never block: each key
+ * publishes an immutable view of its arrays after a refresh, and appends only write past the end of
+ * the published view or into new arrays.
+ */
+@Component
+public class DemandSeriesStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DemandSeriesStore.class);
+    private static final Points NO_POINTS = new Points(new int[0], new int[0], new double[0], 0);
+
+    @Autowired
+    private DemandSeriesReader demandSeriesReader;
+
+    @Value("${demand.series.enabled:true}")
+    private boolean enabled;
+    @Value("${demand.series.rebuild-interval:1h}")
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    private volatile State state = new State();
+    private volatile boolean loaded;
+    private volatile boolean stale;
+    private long builtAtNanos;
+
+    /** One key's points, oldest first. Only the first {@code size} entries are valid; do not modify. */
+    public record Points(int[] epochDays, int[] salesQuantities, double[] prices, int size) {
+    }
+
+    /**
+     * Aggregates over the last {@code window} points of every key, indexed by key: {@code points} is how
+     * many points the window held, {@code slopePerDay} the least-squares trend of sales per day (NaN with
+     * fewer than two distinct days). Only the first {@code size} entries of each array are valid.
+     */
+    public record WindowAggregates(String[] productIds, String[] storeIds, int size, int[] points,
+                                   double[] movingAverage, double[] slopePerDay) {
+    }
+
+    /** One key's window aggregates. */
+    public record DemandTrend(String productId, String storeId, int points, double movingAverage,
+                              double slopePerDay) {
+    }
+
+    @Scheduled(fixedDelayString = "${demand.series.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int appended = refresh();
+            if (appended > 0) {
+                log.debug("Demand series store appended {} points, {} keys", appended, state.catalog.size);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Demand series store refresh failed, keeping the current data", e);
+        }
+    }
+
+    /** Appends the rows added since the last refresh, or rebuilds the store if it is stale or due. */
+    public synchronized int refresh() {
+        boolean rebuild = stale || !loaded || System.nanoTime() - builtAtNanos >= rebuildInterval.toNanos();
+        stale = false;
+        State target = rebuild ? new State() : state;
+        int[] appended = {0};
+        try {
+            target.watermark = demandSeriesReader.readAfter(target.watermark, (productId, storeId, epochDay, quantity, price) -> {
+                target.append(productId, storeId, epochDay, quantity, price);
+                appended[0]++;
+            });
+        } catch (RuntimeException e) {
+            // Points read before the failure are in the arrays but not published; start over next time
+            stale = true;
+            throw e;
+        }
+        target.publish();
+        state = target;
+        if (rebuild) {
+            builtAtNanos = System.nanoTime();
+        }
+        loaded = true;
+        return appended[0];
+    }
+
+    /** An existing Demand row changed, which appending cannot reflect; the next refresh rebuilds. */
+    public void rowsChanged() {
+        stale = true;
+    }
+
+    /** Whether the store has loaded and can answer for the whole table (up to one refresh behind). */
+    public boolean isLoaded() {
+        return enabled && loaded;
+    }
+
+    public Points points(String productId, String storeId) {
+        State current = state;
+        Integer key = current.keyOf(productId, storeId);
+        Catalog catalog = current.catalog;
+        return key == null || key >= catalog.size ? NO_POINTS : catalog.series[key].points;
+    }
+
+    /** Sales per date, oldest first, with rows of the same date summed: the series the forecaster fits. */
+    public double[] dailySales(String productId, String storeId) {
+        Points points = points(productId, storeId);
+        double[] sales = new double[points.size];
+        int n = 0;
+        for (int i = 0; i < points.size; i++) {
+            if (i > 0 && points.epochDays[i] == points.epochDays[i - 1]) {
+                sales[n - 1] += points.salesQuantities[i];
+            } else {
+                sales[n++] = points.salesQuantities[i];
+            }
+        }
+        return n == sales.length ? sales : Arrays.copyOf(sales, n);
+    }
+
+    /** Moving average and trend slope of the last {@code window} points of every key, in a parallel scan. */
+    public WindowAggregates aggregate(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1, got " + window);
+        }
+        Catalog catalog = state.catalog;
+        int size = catalog.size;
+        int[] points = new int[size];
+        double[] movingAverage = new double[size];
+        double[] slopePerDay = new double[size];
+        IntStream.range(0, size).parallel().forEach(key -> {
+            Points p = catalog.series[key].points;
+            int from = Math.max(0, p.size - window);
+            int count = p.size - from;
+            points[key] = count;
+            if (count == 0) {
+                movingAverage[key] = Double.NaN;
+                slopePerDay[key] = Double.NaN;
+                return;
+            }
+            // Days are taken relative to the window's first day to keep the sums small
+            int origin = p.epochDays[from];
+            double sumX = 0;
+            double sumY = 0;
+            double sumXY = 0;
+            double sumXX = 0;
+            for (int i = from; i < p.size; i++) {
+                double x = p.epochDays[i] - origin;
+                double y = p.salesQuantities[i];
+                sumX += x;
+                sumY += y;
+                sumXY += x * y;
+                sumXX += x * x;
+            }
+            movingAverage[key] = sumY / count;
+            double denominator = count * sumXX - sumX * sumX;
+            slopePerDay[key] = denominator == 0 ? Double.NaN : (count * sumXY - sumX * sumY) / denominator;
+        });
+        return new WindowAggregates(catalog.productIds, catalog.storeIds, size, points, movingAverage, slopePerDay);
+    }
+
+    /** The {@code limit} keys whose sales rise fastest over their last {@code window} points. */
+    public List<DemandTrend> topTrends(int window, int limit) {
+        WindowAggregates aggregates = aggregate(window);
+        return IntStream.range(0, aggregates.size())
+                .filter(key -> !Double.isNaN(aggregates.slopePerDay()[key]))
+                .boxed()
+                .sorted(Comparator.comparingDouble(key -> -aggregates.slopePerDay()[key]))
+                .limit(limit)
+                .map(key -> new DemandTrend(aggregates.productIds()[key], aggregates.storeIds()[key],
+                        aggregates.points()[key], aggregates.movingAverage()[key], aggregates.slopePerDay()[key]))
+                .toList();
+    }
+
+    /** The keys visible to readers: the first {@code size} entries of each array. */
+    private record Catalog(String[] productIds, String[] storeIds, Series[] series, int size) {
+    }
+
+    /**
+     * Everything one load built. Written only by {@link #refresh()}, which holds the store's lock; the
+     * dictionaries and key index are concurrent maps so readers can look keys up meanwhile.
+     */
+    private static final class State {
+        private final Dictionary products = new Dictionary();
+        private final Dictionary stores = new Dictionary();
+        private final Map<Long, Integer> keys = new ConcurrentHashMap<>();
+        private String[] productIds = new String[64];
+        private String[] storeIds = new String[64];
+        private Series[] series = new Series[64];
+        private int size;
+        private Series[] touched = new Series[64];
+        private int touchedCount;
+        private long watermark;
+        private volatile Catalog catalog = new Catalog(productIds, storeIds, series, 0);
+
+        Integer keyOf(String productId, String storeId) {
+            Integer product = products.codes.get(productId);
+            Integer store = stores.codes.get(storeId);
+            return product == null || store == null ? null : keys.get(pack(product, store));
+        }
+
+        void append(String productId, String storeId, int epochDay, int quantity, double price) {
+            int product = products.encode(productId);
+            int store = stores.encode(storeId);
+            Integer key = keys.get(pack(product, store));
+            Series target;
+            if (key == null) {
+                if (size == series.length) {
+                    int capacity = size * 2;
+                    productIds = Arrays.copyOf(productIds, capacity);
+                    storeIds = Arrays.copyOf(storeIds, capacity);
+                    series = Arrays.copyOf(series, capacity);
+                }
+                productIds[size] = products.values[product];
+                storeIds[size] = stores.values[store];
+                target = series[size] = new Series();
+                keys.put(pack(product, store), size++);
+            } else {
+                target = series[key];
+            }
+            if (!target.dirty) {
+                target.dirty = true;
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = target;
+            }
+            target.append(epochDay, quantity, price);
+        }
+
+        void publish() {
+            for (int i = 0; i < touchedCount; i++) {
+                touched[i].publish();
+                touched[i] = null;
+            }
+            touchedCount = 0;
+            catalog = new Catalog(productIds, storeIds, series, size);
+        }
+
+        private static long pack(int product, int store) {
+            return (long) product << 32 | store & 0xFFFFFFFFL;
+        }
+    }
+
+    /** Id string to a dense int code, keeping the first instance of each string for every key to share. */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private String[] values = new String[64];
+        private int size;
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    /** One key's columns. The arrays are writer-owned; readers only see them through {@link #points}. */
+    private static final class Series {
+        private int[] epochDays = new int[4];
+        private int[] salesQuantities = new int[4];
+        private double[] prices = new double[4];
+        private int size;
+        private boolean dirty;
+        private volatile Points points = NO_POINTS;
+
+        // Rows usually arrive in date order. A late row is inserted in place, into fresh arrays, since
+        // shifting the published ones would change what readers see.
+        void append(int epochDay, int quantity, double price) {
+            int at = size;
+            while (at > 0 && epochDays[at - 1] > epochDay) {
+                at--;
+            }
+            if (at < size || size == epochDays.length) {
+                int capacity = Math.max(size + 1, epochDays.length * 2);
+                epochDays = insert(epochDays, new int[capacity], at);
+                salesQuantities = insert(salesQuantities, new int[capacity], at);
+                prices = insert(prices, new double[capacity], at);
+            }
+            epochDays[at] = epochDay;
+            salesQuantities[at] = quantity;
+            prices[at] = price;
+            size++;
+        }
+
+        private <A> A insert(A from, A to, int at) {
+            System.arraycopy(from, 0, to, 0, at);
+            System.arraycopy(from, at, to, at + 1, size - at);
+            return to;
+        }
+
+        void publish() {
+            dirty = false;
+            points = new Points(epochDays, salesQuantities, prices, size);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.Multi_Agent.Retail_Inventory.repository.ProcessedForecastResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Change tracking for the forecasting job. Every result is stored with a fingerprint of the inputs the
+ * agents saw: the Demand row, the latest Inventory and Pricing snapshots of its key and the strategy,
+ * plus the key's sales history whenever the in-process model may forecast it ({@link ForecastRouter}).
+ * A key whose fingerprint matches its most recent result is clean; its result is carried forward into
+ * the new month instead of calling the agents again.
+ */
+@Component
+public class ForecastChangeTracker {
+
+    private static final char SEPARATOR = '\u001f';
+
+    @Autowired
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private ProcessedForecastResultRepository processedForecastResultRepository;
+    @Autowired
+    private ForecastRouter forecastRouter;
+
+    /**
+     * Splits {@code demands} into the rows to forecast and the results carried forward for the rest.
+     * With {@code incremental} off every row is dirty, but fingerprints are still computed so the next
+     * incremental run has something to compare against.
+     */
+    public ChangeSet changes(List<Demand> demands, String month, String strategy, boolean incremental) {
+        List<ProductStoreKey> keys = demands.stream()
+                .map(demand -> new ProductStoreKey(demand.getProductId(), demand.getStoreId()))
+                .distinct()
+                .toList();
+        Map<ProductStoreKey, Inventory> inventories = latestSnapshotCache.latestInventories(keys);
+        Map<ProductStoreKey, Pricing> prices = latestSnapshotCache.latestPricings(keys);
+        Map<ProductStoreKey, ProcessedForecastResult> previous = incremental ? latestResults(keys) : Map.of();
+
+        Map<Long, String> fingerprints = new HashMap<>();
+        List<Demand> dirty = new ArrayList<>();
+        List<Demand> clean = new ArrayList<>();
+        List<ProcessedForecastResult> carried = new ArrayList<>();
+        for (Demand demand : demands) {
+            ProductStoreKey key = new ProductStoreKey(demand.getProductId(), demand.getStoreId());
+            String fingerprint = fingerprint(demand, inventories.get(key), prices.get(key), strategy,
+                    forecastRouter.historySignature(demand));
+            fingerprints.put(demand.getId(), fingerprint);
+            ProcessedForecastResult last = previous.get(key);
+            if (last != null && fingerprint.equals(last.getInputFingerprint())) {
+                clean.add(demand);
+                carried.add(carryForward(last, month));
+            } else {
+                dirty.add(demand);
+            }
+        }
+        return new ChangeSet(dirty, fingerprints, clean, carried);
+    }
+
+    private Map<ProductStoreKey, ProcessedForecastResult> latestResults(List<ProductStoreKey> keys) {
+        Map<ProductStoreKey, ProcessedForecastResult> results = new HashMap<>();
+        if (keys.isEmpty()) {
+            return results;
+        }
+        String[] productIds = keys.stream().map(ProductStoreKey::productId).toArray(String[]::new);
+        String[] storeIds = keys.stream().map(ProductStoreKey::storeId).toArray(String[]::new);
+        for (ProcessedForecastResult result : processedForecastResultRepository.findLatestIn(productIds, storeIds)) {
+            results.put(new ProductStoreKey(result.getProductId(), result.getStoreId()), result);
+        }
+        return results;
+    }
+
+    static String fingerprint(Demand demand, Inventory inventory, Pricing pricing, String strategy, String history) {
+        StringBuilder inputs = new StringBuilder(256);
+        append(inputs, demand.getProductId(), demand.getStoreId(), demand.getSalesQuantity(), demand.getPrice(),
+                demand.getPromotions(), demand.getSeasonalityFactors(), demand.getExternalFactors(),
+                demand.getDemandTrend(), demand.getCustomerSegments());
+        if (inventory != null) {
+            append(inputs, inventory.getStockLevels(), inventory.getSupplierLeadTime(), inventory.getStockoutFrequency(),
+                    inventory.getReorderPoint(), inventory.getExpiryDate(), inventory.getWarehouseCapacity(),
+                    inventory.getOrderFulfillmentTime());
+        }
+        if (pricing != null) {
+            append(inputs, pricing.getPrice(), pricing.getCompetitorPrices(), pricing.getDiscounts(),
+                    pricing.getSalesVolume(), pricing.getCustomerReviews(), pricing.getReturnRate(),
+                    pricing.getStorageCost(), pricing.getElasticityIndex());
+        }
+        append(inputs, strategy);
+        if (!history.isEmpty()) {
+            append(inputs, history);
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(inputs.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder inputs, Object... values) {
+        for (Object value : values) {
+            inputs.append(Objects.toString(value, "")).append(SEPARATOR);
+        }
+        // Marks where a group ends, so a missing snapshot cannot be mistaken for a present one
+        inputs.append(SEPARATOR);
+    }
+
+    private static ProcessedForecastResult carryForward(ProcessedForecastResult last, String month) {
+        ProcessedForecastResult result = new ProcessedForecastResult();
+        result.setProductId(last.getProductId());
+        result.setStoreId(last.getStoreId());
+        result.setMonth(month);
+        result.setPredictedDemand(last.getPredictedDemand());
+        result.setLowerConfidence(last.getLowerConfidence());
+        result.setUpperConfidence(last.getUpperConfidence());
+        result.setForecastMethod(last.getForecastMethod());
+        result.setRecommendedOrder(last.getRecommendedOrder());
+        result.setReorderJustification(last.getReorderJustification());
+        result.setCurrentPrice(last.getCurrentPrice());
+        result.setSuggestedPrice(last.getSuggestedPrice());
+        result.setProjectedProfitMargin(last.getProjectedProfitMargin());
+        result.setStrategyAlignment(last.getStrategyAlignment());
+        result.setRiskLevel(last.getRiskLevel());
+        result.setInputFingerprint(last.getInputFingerprint());
+        result.setCarriedForward(true);
+        result.setProcessedAt(LocalDateTime.now());
+        return result;
+    }
+
+    /**
+     * {@code dirty} rows need the agents; {@code clean} rows are done, with {@code carried} holding their
+     * results in the same order. {@code fingerprints} is keyed by Demand id and covers both.
+     */
+    public record ChangeSet(List<Demand> dirty, Map<Long, String> fingerprints, List<Demand> clean,
+                            List<ProcessedForecastResult> carried) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fans the forecasting job out across virtual threads. Each item gets its own thread, but at most
+ * {@code forecast.job.max-in-flight} of them run at once: submission blocks until a slot frees up,
+ * so a slow agent throttles the producer instead of piling up work in memory. A run streams all of
+ * its chunks into one {@link RunExecutor}, so the slots stay busy across chunk boundaries.
+ *
+ * Meters: {@code forecast.job.items} (tagged outcome=success|failure|carried_forward; its rate is the throughput),
+ * {@code forecast.job.in_flight}, {@code forecast.job.active} (runs executing on this node, with their
+ * running time) and {@code forecast.job.attempt} (duration of each finished attempt on this node).
+ */
+@Component
+public class ForecastJobExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastJobExecutor.class);
+
+    @Value("${forecast.job.max-in-flight:64}")
+    private int maxInFlight;
+
+    private volatile ForecastRunStats lastRun;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter carriedForward;
+    private final LongTaskTimer active;
+    private final Timer attempts;
+    private final AtomicInteger inFlightItems;
+
+    public ForecastJobExecutor(MeterRegistry meterRegistry) {
+        this.succeeded = itemCounter(meterRegistry, "success");
+        this.failed = itemCounter(meterRegistry, "failure");
+        this.carriedForward = itemCounter(meterRegistry, "carried_forward");
+        this.active = LongTaskTimer.builder("forecast.job.active")
+                .description("Forecast runs executing on this node")
+                .register(meterRegistry);
+        this.attempts = Timer.builder("forecast.job.attempt")
+                .description("Time one node spent on a forecast run")
+                .register(meterRegistry);
+        this.inFlightItems = meterRegistry.gauge("forecast.job.in_flight", new AtomicInteger());
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("forecast.job.items")
+                .description("Demand rows forecast by the job")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void started(ForecastRunStats stats) {
+        lastRun = stats;
+        stats.activeSample = active.start();
+        log.info("Forecast run {} started (max in flight: {})", stats.getName(), maxInFlight);
+    }
+
+    public void finish(ForecastRunStats stats) {
+        stats.finish();
+        stats.activeSample.stop();
+        attempts.record(Duration.ofMillis(stats.getElapsedMillis()));
+        log.info("Forecast run finished - {}", stats);
+    }
+
+    /** Counts rows that were not forecast because their inputs had not changed. */
+    public void carriedForward(ForecastRunStats stats, int count) {
+        stats.recordCarriedForward(count);
+        carriedForward.increment(count);
+    }
+
+    public ForecastRunStats getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Opens the executor a run's chunks are streamed into on this node. It lives as long as the run, so
+     * a chunk's items start as soon as slots free up instead of after the previous chunk has finished.
+     */
+    public RunExecutor open(ForecastRunStats stats) {
+        return new RunExecutor(stats);
+    }
+
+    /** One run's virtual-thread executor and its {@code max-in-flight} slots; closing it waits for every item. */
+    public final class RunExecutor implements AutoCloseable {
+
+        private final ForecastRunStats stats;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        private RunExecutor(ForecastRunStats stats) {
+            this.stats = stats;
+        }
+
+        /**
+         * Starts {@code task} on every item, blocking while all slots are taken, and returns without
+         * waiting for them. Results come back in item order; an item whose task throws is counted as a
+         * failure in the run's stats and maps to {@code null}.
+         */
+        public <T, R> CompletableFuture<List<R>> submit(List<T> items, Function<T, R> task) {
+            List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                inFlight.acquireUninterruptibly();
+                futures.add(CompletableFuture.supplyAsync(() -> apply(item, task), executor));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+        }
+
+        private <T, R> R apply(T item, Function<T, R> task) {
+            inFlightItems.incrementAndGet();
+            try {
+                R result = task.apply(item);
+                stats.recordSuccess();
+                succeeded.increment();
+                return result;
+            } catch (RuntimeException e) {
+                stats.recordFailure();
+                failed.increment();
+                log.warn("Forecast run {}: item failed: {}", stats.getName(), e.toString());
+                return null;
+            } finally {
+                inFlightItems.decrementAndGet();
+                inFlight.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            executor.close();
+        }
+    }
+}
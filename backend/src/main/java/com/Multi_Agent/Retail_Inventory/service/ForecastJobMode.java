@@ -0,0 +1,11 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+/**
+ * Which Demand rows the monthly job forecasts.
+ */
+public enum ForecastJobMode {
+    /** Only the most recent row of each (productId, storeId), so every pair is forecast once per run. */
+    LATEST_PER_KEY,
+    /** Every history row, as the job originally did. */
+    ALL_ROWS
+}
@@ -0,0 +1,14 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartition;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobRun;
+
+import java.util.List;
+
+/**
+ * A run as stored, its partitions (status, owner, lease, cursor), the number of checkpointed keys and,
+ * while it executes on this node, this node's live counters for the current attempt.
+ */
+public record ForecastJobRunDetails(ForecastJobRun run, List<ForecastJobPartition> partitions, long completedKeys,
+                                    ForecastRunStats live) {
+}
@@ -0,0 +1,398 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartition;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartitionId;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobRun;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus;
+import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobCheckpointRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobCheckpointWriter;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobPartitionRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobRunRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ProcessedForecastResultWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the monthly forecasting job as a persisted, resumable {@link ForecastJobRun}, spread over every
+ * node of the cluster. A run's keys are split into hash partitions; each node claims partitions one at
+ * a time under a lease ({@link ForecastJobPartitionRepository}) and works through them in
+ * keyset-paginated chunks. Chunks are streamed into one executor per run, so the next chunk's calls start
+ * while the last ones of the previous chunk are still out. Each chunk's results, checkpoints and the
+ * partition cursor commit in one transaction, in chunk order, and only while the node still holds the
+ * lease, so no key is written twice.
+ *
+ * Keys whose inputs have not changed since their last result are not sent to the agents again; their
+ * result is carried forward ({@link ForecastChangeTracker}).
+ *
+ * Every node fires the cron trigger, but creating the run is idempotent, and nodes that start later
+ * (or restart) join running runs through {@link #joinRunningRuns()}. Partitions of a crashed node are
+ * claimed again once their lease expires and continue after their cursor.
+ */
+@Service
+public class ForecastJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastJobService.class);
+
+    @Autowired
+    private DemandForecastingRepository demandForecastingRepository;
+    @Autowired
+    private AIModelService aiModelService;
+    @Autowired
+    private ForecastJobExecutor forecastJobExecutor;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ProcessedForecastResultWriter processedForecastResultWriter;
+    @Autowired
+    private ForecastJobRunRepository forecastJobRunRepository;
+    @Autowired
+    private ForecastJobPartitionRepository forecastJobPartitionRepository;
+    @Autowired
+    private ForecastJobCheckpointRepository forecastJobCheckpointRepository;
+    @Autowired
+    private ForecastJobCheckpointWriter forecastJobCheckpointWriter;
+    @Autowired
+    private ForecastChangeTracker forecastChangeTracker;
+
+    @Value("${forecast.job.chunk-size:500}")
+    private int chunkSize;
+    @Value("${forecast.job.mode:LATEST_PER_KEY}")
+    private ForecastJobMode jobMode;
+    @Value("${forecast.job.partitions:16}")
+    private int partitions;
+    @Value("${forecast.job.lease:5m}")
+    private Duration lease;
+    @Value("${forecast.job.incremental:true}")
+    private boolean incremental;
+    @Value("${forecast.job.node-id:}")
+    private String nodeId;
+
+    private final Map<Long, ForecastRunStats> active = new ConcurrentHashMap<>();
+    private final Timer runDuration;
+
+    public ForecastJobService(MeterRegistry meterRegistry) {
+        // Recorded once per completed run, by the node that finishes its last partition
+        this.runDuration = Timer.builder("forecast.job.run.duration")
+                .description("Wall-clock time from creating a forecast run to completing it")
+                .serviceLevelObjectives(Duration.ofHours(1), Duration.ofHours(2), Duration.ofHours(4))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "0 0 3 1 * *")
+    public void runScheduledForecasting() {
+        ForecastJobRun run = findOrCreate(LocalDate.now(), "increase", false);
+        if (run.getStatus() == ForecastJobStatus.PENDING || run.getStatus() == ForecastJobStatus.RUNNING) {
+            joinInBackground(run.getId());
+        } else {
+            log.info("Forecast run {} is {}, not starting it", run.getName(), run.getStatus());
+        }
+    }
+
+    /**
+     * Puts this node to work on every RUNNING run that still has partitions to claim: runs started or
+     * resumed elsewhere, and partitions left behind by a node that went down.
+     */
+    @Scheduled(fixedDelayString = "${forecast.job.poll-interval-ms:30000}")
+    public void joinRunningRuns() {
+        for (ForecastJobRun run : forecastJobRunRepository.findByStatus(ForecastJobStatus.RUNNING)) {
+            if (!active.containsKey(run.getId()) && forecastJobPartitionRepository.hasClaimable(run.getId())) {
+                joinInBackground(run.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${forecast.job.lease-renew-interval-ms:60000}")
+    public void renewLeases() {
+        if (!active.isEmpty()) {
+            forecastJobPartitionRepository.renewLeases(nodeId(), lease);
+        }
+    }
+
+    /**
+     * Starts the run for {@code date}'s month on this node in the background (other nodes join within a
+     * poll interval), or returns the existing run if it is already executing or has completed. With
+     * {@code full} a new run forecasts every key, even those whose inputs have not changed.
+     */
+    public ForecastJobRun trigger(LocalDate date, String strategy, boolean full) {
+        ForecastJobRun run = findOrCreate(date, strategy, full);
+        if (run.getStatus() == ForecastJobStatus.PENDING) {
+            start(run.getId());
+        }
+        return forecastJobRunRepository.findById(run.getId()).orElseThrow();
+    }
+
+    /** Every node stops after its current chunk and hands its partition back. */
+    public ForecastJobRun pause(long runId) {
+        ForecastJobRun run = forecastJobRunRepository.findById(runId).orElseThrow();
+        if (run.getStatus() != ForecastJobStatus.RUNNING) {
+            throw new IllegalStateException("Run " + run.getName() + " is not executing (" + run.getStatus() + ")");
+        }
+        forecastJobRunRepository.updateStatus(runId, ForecastJobStatus.PAUSED, LocalDateTime.now());
+        return forecastJobRunRepository.findById(runId).orElseThrow();
+    }
+
+    /**
+     * Continues a paused or failed run after each partition's cursor. With {@code rescan} every partition
+     * starts over from its first key instead, which retries every key that has no checkpoint yet (e.g.
+     * keys whose agent calls failed); this also reopens a completed run.
+     */
+    public ForecastJobRun resume(long runId, boolean rescan) {
+        ForecastJobRun run = forecastJobRunRepository.findById(runId).orElseThrow();
+        if (run.getStatus() == ForecastJobStatus.RUNNING) {
+            throw new IllegalStateException("Run " + run.getName() + " is already executing");
+        }
+        if (run.getStatus() == ForecastJobStatus.COMPLETED && !rescan) {
+            throw new IllegalStateException("Run " + run.getName() + " has completed; resume with rescan to retry failed keys");
+        }
+        if (rescan) {
+            forecastJobPartitionRepository.resetAll(runId);
+        }
+        start(runId);
+        return forecastJobRunRepository.findById(runId).orElseThrow();
+    }
+
+    public List<ForecastJobRun> recentRuns() {
+        return forecastJobRunRepository.findTop20ByOrderByIdDesc();
+    }
+
+    public Optional<ForecastJobRunDetails> details(long runId) {
+        return forecastJobRunRepository.findById(runId).map(run -> new ForecastJobRunDetails(run,
+                forecastJobPartitionRepository.findByRun(runId), forecastJobCheckpointRepository.countByIdRunId(runId),
+                active.get(runId)));
+    }
+
+    private void start(long runId) {
+        forecastJobRunRepository.updateStatus(runId, ForecastJobStatus.RUNNING, LocalDateTime.now());
+        joinInBackground(runId);
+    }
+
+    /**
+     * Joins the run on its own thread. The scheduler has a single thread, and a join lasts the whole run;
+     * on that thread it would hold up lease renewal and every other scheduled task for hours.
+     */
+    private void joinInBackground(long runId) {
+        if (!active.containsKey(runId)) {
+            Thread.ofVirtual().name("forecast-run-" + runId).start(() -> join(runId));
+        }
+    }
+
+    private ForecastJobRun findOrCreate(LocalDate date, String strategy, boolean full) {
+        String month = date.getMonth().name();
+        String monthName = month.charAt(0) + month.substring(1).toLowerCase();
+        String name = "monthly-" + monthName + "-" + date.getYear();
+        ForecastJobRun run = forecastJobRunRepository.findByName(name).orElseGet(() -> {
+            ForecastJobRun created = new ForecastJobRun();
+            created.setName(name);
+            created.setMonth(monthName);
+            created.setStrategy(strategy);
+            created.setMode(jobMode.name());
+            created.setPartitions(partitions);
+            // Carry-forward is per key, so it only applies when each key is forecast once
+            created.setIncremental(incremental && !full && jobMode == ForecastJobMode.LATEST_PER_KEY);
+            created.setStatus(ForecastJobStatus.PENDING);
+            created.setStartedAt(LocalDateTime.now());
+            created.setUpdatedAt(created.getStartedAt());
+            try {
+                return forecastJobRunRepository.save(created);
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently by another node
+                return forecastJobRunRepository.findByName(name).orElseThrow();
+            }
+        });
+        forecastJobPartitionRepository.createAll(run.getId(), run.getPartitions());
+        return run;
+    }
+
+    /** Works on the run's partitions from this node until none is left to claim. */
+    private void join(long runId) {
+        ForecastJobRun run = forecastJobRunRepository.findById(runId).orElseThrow();
+        ForecastRunStats stats = new ForecastRunStats(run.getName() + "@" + nodeId());
+        if (active.putIfAbsent(runId, stats) != null) {
+            return;
+        }
+        forecastJobExecutor.started(stats);
+        if (run.getStatus() == ForecastJobStatus.PENDING) {
+            forecastJobRunRepository.updateStatus(runId, ForecastJobStatus.RUNNING, LocalDateTime.now());
+        }
+        try (ForecastJobExecutor.RunExecutor executor = forecastJobExecutor.open(stats)) {
+            Optional<ForecastJobPartition> partition;
+            while (isRunning(runId)
+                    && (partition = forecastJobPartitionRepository.claim(runId, nodeId(), lease)).isPresent()) {
+                processPartition(run, partition.get(), stats, executor);
+            }
+            if (forecastJobRunRepository.completeIfDone(runId, LocalDateTime.now()) == 1) {
+                runDuration.record(Duration.between(run.getStartedAt(), LocalDateTime.now()));
+                log.info("Forecast run {} completed", run.getName());
+            }
+        } catch (RuntimeException e) {
+            log.error("Forecast run {} failed on {}", run.getName(), nodeId(), e);
+            forecastJobRunRepository.fail(runId, nodeId() + ": " + e, LocalDateTime.now());
+        } finally {
+            forecastJobExecutor.finish(stats);
+            active.remove(runId);
+        }
+    }
+
+    private void processPartition(ForecastJobRun run, ForecastJobPartition partition, ForecastRunStats stats,
+                                  ForecastJobExecutor.RunExecutor executor) {
+        ForecastJobPartitionId id = partition.getId();
+        ForecastJobMode mode = ForecastJobMode.valueOf(run.getMode());
+        Deque<PendingChunk> pending = new ArrayDeque<>();
+        try {
+            List<Demand> chunk = nextChunk(mode, run, id.getPartitionNo(), partition.getCursorDemandId(),
+                    partition.getCursorProductId(), partition.getCursorStoreId());
+            while (!chunk.isEmpty() && isRunning(run.getId())) {
+                pending.add(submitChunk(run, stats, executor, chunk));
+                if (!commitChunks(run, id, pending, false)) {
+                    return;
+                }
+                Demand last = chunk.get(chunk.size() - 1);
+                chunk = nextChunk(mode, run, id.getPartitionNo(), last.getId(), last.getProductId(), last.getStoreId());
+            }
+            if (!commitChunks(run, id, pending, true)) {
+                return;
+            }
+            if (chunk.isEmpty()) {
+                forecastJobPartitionRepository.complete(id, nodeId());
+            } else {
+                forecastJobPartitionRepository.release(id, nodeId());
+            }
+        } catch (RuntimeException e) {
+            forecastJobPartitionRepository.release(id, nodeId());
+            throw e;
+        }
+    }
+
+    // Starts the chunk's agent calls without waiting for them; blocks only while every slot is taken
+    private PendingChunk submitChunk(ForecastJobRun run, ForecastRunStats stats,
+                                     ForecastJobExecutor.RunExecutor executor, List<Demand> chunk) {
+        List<Demand> pending = notYetDone(run, chunk);
+        ForecastChangeTracker.ChangeSet changes = forecastChangeTracker.changes(pending, run.getMonth(),
+                run.getStrategy(), run.isIncremental());
+        CompletableFuture<List<ProcessedForecastResult>> results = executor.submit(changes.dirty(), demand -> {
+            ProcessedForecastResult result = aiModelService.forecastDemand(demand, run.getMonth(), run.getStrategy());
+            result.setInputFingerprint(changes.fingerprints().get(demand.getId()));
+            return result;
+        });
+        forecastJobExecutor.carriedForward(stats, changes.clean().size());
+        return new PendingChunk(chunk.get(chunk.size() - 1), changes, results);
+    }
+
+    /**
+     * Commits the oldest pending chunks in order: every one of them with {@code waitForAll}, otherwise only
+     * those whose calls have all finished. False if another node has taken the partition over.
+     */
+    private boolean commitChunks(ForecastJobRun run, ForecastJobPartitionId partition, Deque<PendingChunk> pending,
+                                 boolean waitForAll) {
+        while (!pending.isEmpty() && (waitForAll || pending.peek().results().isDone())) {
+            if (!commitChunk(run, partition, pending.poll())) {
+                log.warn("Forecast run {}: lost the lease on partition {}", run.getName(), partition.getPartitionNo());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // False, with nothing written, if another node has taken the partition over
+    private boolean commitChunk(ForecastJobRun run, ForecastJobPartitionId partition, PendingChunk chunk) {
+        ForecastChangeTracker.ChangeSet changes = chunk.changes();
+        List<ProcessedForecastResult> results = chunk.results().join();
+        List<ProcessedForecastResult> saved = new ArrayList<>(changes.carried());
+        List<Demand> completed = new ArrayList<>(changes.clean());
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) != null) {
+                saved.add(results.get(i));
+                completed.add(changes.dirty().get(i));
+            }
+        }
+        int carried = changes.carried().size();
+        int predicted = saved.size() - carried;
+        int failed = changes.dirty().size() - predicted;
+        // Results, checkpoints and cursor commit together, and only while this node holds the lease
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!forecastJobPartitionRepository.advance(partition, nodeId(), lease, chunk.last())) {
+                return false;
+            }
+            processedForecastResultWriter.writeAll(saved);
+            forecastJobCheckpointWriter.writeAll(run.getId(), completed);
+            forecastJobRunRepository.addCounts(run.getId(), predicted, failed, carried, LocalDateTime.now());
+            return true;
+        }));
+    }
+
+    /**
+     * The rows of {@code chunk} the run has not checkpointed. In LATEST_PER_KEY mode that is decided per
+     * key: a rescan can meet a newer row of a key finished earlier, which must not be forecast twice.
+     */
+    private List<Demand> notYetDone(ForecastJobRun run, List<Demand> chunk) {
+        if (ForecastJobMode.valueOf(run.getMode()) == ForecastJobMode.LATEST_PER_KEY) {
+            Set<ProductStoreKey> done = new HashSet<>();
+            for (Object[] key : forecastJobCheckpointRepository.findCompletedKeys(run.getId(),
+                    chunk.stream().map(Demand::getProductId).toArray(String[]::new),
+                    chunk.stream().map(Demand::getStoreId).toArray(String[]::new))) {
+                done.add(new ProductStoreKey((String) key[0], (String) key[1]));
+            }
+            return chunk.stream()
+                    .filter(demand -> !done.contains(new ProductStoreKey(demand.getProductId(), demand.getStoreId())))
+                    .toList();
+        }
+        Set<Long> done = new HashSet<>(forecastJobCheckpointRepository.findCompleted(run.getId(),
+                chunk.stream().map(Demand::getId).toList()));
+        return chunk.stream().filter(demand -> !done.contains(demand.getId())).toList();
+    }
+
+    private boolean isRunning(long runId) {
+        return forecastJobRunRepository.findById(runId)
+                .map(run -> run.getStatus() == ForecastJobStatus.RUNNING)
+                .orElse(false);
+    }
+
+    private List<Demand> nextChunk(ForecastJobMode mode, ForecastJobRun run, int partition, Long lastId,
+                                   String lastProductId, String lastStoreId) {
+        if (mode == ForecastJobMode.ALL_ROWS) {
+            return demandForecastingRepository.findPartitionAfter(lastId == null ? 0 : lastId,
+                    run.getPartitions(), partition, chunkSize);
+        }
+        return demandForecastingRepository.findLatestPerKeyAfter(lastProductId == null ? "" : lastProductId,
+                lastStoreId == null ? "" : lastStoreId, run.getPartitions(), partition, chunkSize);
+    }
+
+    /** A chunk whose calls have been started; {@code last} is where the cursor moves once it commits. */
+    private record PendingChunk(Demand last, ForecastChangeTracker.ChangeSet changes,
+                                CompletableFuture<List<ProcessedForecastResult>> results) {
+    }
+
+    private String nodeId() {
+        if (nodeId.isBlank()) {
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return nodeId;
+    }
+}
@@ -0,0 +1,100 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Decides per (productId, storeId) whether a forecast comes from the in-process {@link HoltForecaster}
+ * or from the forecast agent. In AUTO mode a key goes local when it has at least
+ * {@code forecast.local.min-history} dated observations and the model's one-step error is within
+ * {@code forecast.local.max-relative-error} of its average sales; short or erratic histories go to the
+ * agent. Each decision is counted in {@code retail.forecast.routes}, tagged with the route and reason.
+ */
+@Component
+public class ForecastRouter {
+
+    @Autowired
+    private DemandForecastingRepository demandForecastingRepository;
+    @Autowired
+    private PredictionMetrics predictionMetrics;
+    @Autowired
+    private DemandSeriesStore demandSeriesStore;
+
+    @Value("${forecast.local.mode:AUTO}")
+    private ForecastRouting mode;
+    @Value("${forecast.local.min-history:6}")
+    private int minHistory;
+    @Value("${forecast.local.max-relative-error:0.25}")
+    private double maxRelativeError;
+
+    private final Counter local;
+    private final Counter disabled;
+    private final Counter shortHistory;
+    private final Counter poorFit;
+
+    public ForecastRouter(MeterRegistry meterRegistry) {
+        this.local = routeCounter(meterRegistry, "local", "fit");
+        this.disabled = routeCounter(meterRegistry, "agent", "disabled");
+        this.shortHistory = routeCounter(meterRegistry, "agent", "short_history");
+        this.poorFit = routeCounter(meterRegistry, "agent", "poor_fit");
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder("retail.forecast.routes")
+                .description("Forecasts by where they were computed")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /** The in-process forecast for {@code demand}'s key, or empty when the agent should forecast it. */
+    public Optional<AgentResponses.Forecast> localForecast(Demand demand) {
+        if (mode == ForecastRouting.AGENT) {
+            disabled.increment();
+            return Optional.empty();
+        }
+        double[] series = predictionMetrics.stage("history_lookup", () -> history(demand));
+        int required = mode == ForecastRouting.LOCAL ? HoltForecaster.MIN_OBSERVATIONS
+                : Math.max(minHistory, HoltForecaster.MIN_OBSERVATIONS);
+        if (series.length < required) {
+            shortHistory.increment();
+            return Optional.empty();
+        }
+        HoltForecaster.Fit fit = HoltForecaster.fit(series);
+        if (mode == ForecastRouting.AUTO && !(fit.relativeError() <= maxRelativeError)) {
+            poorFit.increment();
+            return Optional.empty();
+        }
+        local.increment();
+        return Optional.of(fit.toForecast());
+    }
+
+    /**
+     * What a local forecast of {@code demand}'s key would be fitted on, for change tracking: the key's
+     * daily sales series, or an empty string when forecasts always come from the agent. A new or
+     * back-dated row changes it even when the latest row's values do not.
+     */
+    public String historySignature(Demand demand) {
+        if (mode == ForecastRouting.AGENT) {
+            return "";
+        }
+        return Arrays.toString(history(demand));
+    }
+
+    // From the in-memory series store once it has loaded, from the Demand table until then
+    private double[] history(Demand demand) {
+        if (demandSeriesStore.isLoaded()) {
+            return demandSeriesStore.dailySales(demand.getProductId(), demand.getStoreId());
+        }
+        return HoltForecaster.series(
+                demandForecastingRepository.findByProductIdAndStoreId(demand.getProductId(), demand.getStoreId()));
+    }
+}
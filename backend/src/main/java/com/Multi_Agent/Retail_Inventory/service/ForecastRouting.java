@@ -0,0 +1,13 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+/**
+ * Where demand forecasts come from.
+ */
+public enum ForecastRouting {
+    /** Always the forecast agent, as before the in-process model existed. */
+    AGENT,
+    /** The in-process model for keys with enough history that it fits well; the agent for the rest. */
+    AUTO,
+    /** The in-process model whenever there is enough history to fit it, however well it fits. */
+    LOCAL
+}
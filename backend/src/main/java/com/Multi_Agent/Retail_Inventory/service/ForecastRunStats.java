@@ -0,0 +1,93 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import io.micrometer.core.instrument.LongTaskTimer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters for one execution of the forecasting job. Updated concurrently by the worker threads
+ * and read by the admin endpoints while the run is still going.
+ */
+public class ForecastRunStats {
+
+    private final String name;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong carriedForward = new AtomicLong();
+
+    LongTaskTimer.Sample activeSample;
+
+    public ForecastRunStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess() {
+        succeeded.incrementAndGet();
+    }
+
+    void recordFailure() {
+        failed.incrementAndGet();
+    }
+
+    void recordCarriedForward(int count) {
+        carriedForward.addAndGet(count);
+    }
+
+    void finish() {
+        finishedAt = Instant.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    public long getSucceeded() {
+        return succeeded.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /** Rows whose inputs had not changed, so their previous result was reused without calling the agents. */
+    public long getCarriedForward() {
+        return carriedForward.get();
+    }
+
+    public long getProcessed() {
+        return succeeded.get() + failed.get();
+    }
+
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : getProcessed() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d processed (%d failed), %d carried forward in %d ms, %.1f rows/s",
+                name, getProcessed(), getFailed(), getCarriedForward(), getElapsedMillis(), getRowsPerSecond());
+    }
+}
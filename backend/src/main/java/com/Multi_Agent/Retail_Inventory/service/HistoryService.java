@@ -0,0 +1,55 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.repository.HistoryReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * The history endpoints of Demand, Inventory and Pricing: a key's rows, streamed from the database to
+ * the response as a JSON array. Without {@code limit} or {@code after} the response holds every row,
+ * as it always has. With either, it is one page; when more rows follow, the {@code X-Next-Cursor}
+ * header holds the value to pass as {@code after} for the next page.
+ */
+@Service
+public class HistoryService {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private HistoryReader historyReader;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${history.page.default-limit:1000}")
+    private int defaultLimit;
+    @Value("${history.page.max-limit:10000}")
+    private int maxLimit;
+
+    public ResponseEntity<StreamingResponseBody> page(HistoryReader.Table table, String productId, String storeId,
+                                                      LocalDate from, LocalDate to, Long after, Integer limit) {
+        boolean paged = limit != null || after != null;
+        int pageSize = limit == null ? defaultLimit : limit;
+        if (pageSize < 1 || pageSize > maxLimit || (from != null && to != null && from.isAfter(to))) {
+            return ResponseEntity.badRequest().build();
+        }
+        HistoryReader.Query query = new HistoryReader.Query(table, productId, storeId, from, to, after);
+        Long through = paged ? historyReader.lastIdOfFullPage(query, pageSize) : null;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (through != null) {
+            response.header(NEXT_CURSOR_HEADER, through.toString());
+        }
+        return response.body(out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                historyReader.stream(query, through, json);
+            }
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Holt's linear trend method (double exponential smoothing), fitted in process over a key's sales
+ * history. Alpha and beta are picked from a 0.1 grid by the smallest one-step-ahead squared error, and
+ * the 95% interval is the forecast plus or minus 1.96 standard deviations of those one-step errors.
+ * A fit over a few dozen points takes microseconds, so it can stand in for the forecast agent on keys
+ * whose history it explains well.
+ */
+public final class HoltForecaster {
+
+    /** Fewer points leave no one-step error to size the interval with. */
+    public static final int MIN_OBSERVATIONS = 3;
+
+    private static final double Z_95 = 1.96;
+    private static final double[] GRID = {0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+
+    /** A fitted model: the next-period forecast and how well the model tracked the history. */
+    public record Fit(double forecast, double residualStdDev, double mean, double alpha, double beta,
+                      int observations) {
+
+        /** Residual spread relative to the average level; infinite when there were no sales. */
+        public double relativeError() {
+            return mean > 0 ? residualStdDev / mean : Double.POSITIVE_INFINITY;
+        }
+
+        /** Demand cannot be negative, so the forecast and the lower bound are clamped at zero. */
+        public AgentResponses.Forecast toForecast() {
+            double margin = Z_95 * residualStdDev;
+            return new AgentResponses.Forecast(
+                    (int) Math.round(Math.max(0, forecast)),
+                    (int) Math.round(Math.max(0, forecast - margin)),
+                    (int) Math.round(Math.max(0, forecast + margin)),
+                    String.format(Locale.ROOT, "Holt linear trend (alpha=%.1f, beta=%.1f, n=%d)", alpha, beta, observations));
+        }
+    }
+
+    private HoltForecaster() {
+    }
+
+    /**
+     * Sales quantity per date, oldest first. Rows of the same date are summed; rows without a date or
+     * a quantity are skipped.
+     */
+    public static double[] series(List<Demand> history) {
+        List<Demand> rows = new ArrayList<>(history.size());
+        for (Demand demand : history) {
+            if (demand.getDate() != null && demand.getSalesQuantity() != null) {
+                rows.add(demand);
+            }
+        }
+        rows.sort(Comparator.comparing(Demand::getDate));
+        double[] series = new double[rows.size()];
+        int n = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Demand row = rows.get(i);
+            if (i > 0 && row.getDate().equals(rows.get(i - 1).getDate())) {
+                series[n - 1] += row.getSalesQuantity();
+            } else {
+                series[n++] = row.getSalesQuantity();
+            }
+        }
+        return n == series.length ? series : Arrays.copyOf(series, n);
+    }
+
+    public static Fit fit(double[] series) {
+        if (series.length < MIN_OBSERVATIONS) {
+            throw new IllegalArgumentException("Holt needs at least " + MIN_OBSERVATIONS + " observations, got "
+                    + series.length);
+        }
+        double bestSse = Double.POSITIVE_INFINITY;
+        double bestForecast = 0;
+        double bestAlpha = 0;
+        double bestBeta = 0;
+        for (double alpha : GRID) {
+            for (double beta : GRID) {
+                // Level starts at the first point and trend at the first difference, so the first
+                // one-step error is at index 2
+                double level = series[0];
+                double trend = series[1] - series[0];
+                double sse = 0;
+                for (int t = 1; t < series.length; t++) {
+                    if (t > 1) {
+                        double error = series[t] - (level + trend);
+                        sse += error * error;
+                    }
+                    double previousLevel = level;
+                    level = alpha * series[t] + (1 - alpha) * (level + trend);
+                    trend = beta * (level - previousLevel) + (1 - beta) * trend;
+                }
+                if (sse < bestSse) {
+                    bestSse = sse;
+                    bestForecast = level + trend;
+                    bestAlpha = alpha;
+                    bestBeta = beta;
+                }
+            }
+        }
+        double sum = 0;
+        for (double value : series) {
+            sum += value;
+        }
+        return new Fit(bestForecast, Math.sqrt(bestSse / (series.length - 2)), sum / series.length,
+                bestAlpha, bestBeta, series.length);
+    }
+}
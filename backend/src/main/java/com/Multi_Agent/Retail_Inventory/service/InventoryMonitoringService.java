@@ -1,31 +1,38 @@
 package com.Multi_Agent.Retail_Inventory.service;
 
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
 import com.Multi_Agent.Retail_Inventory.repository.InventoryMonitoringRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 
 @Service
 public class InventoryMonitoringService {
     @Autowired
     private InventoryMonitoringRepository inventoryMonitoringRepository;
     @Autowired
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private LatestSnapshotService latestSnapshotService;
+    @Autowired
     private PricingOptimizationService pricingOptimizationService;
     @Autowired
     private AIModelService AIModelService;
+    @Transactional
     public ResponseEntity<?> addProduct(Inventory inventory) {
+        ProductStoreKey previousKey = inventory.getId() == null ? null : inventoryMonitoringRepository.findById(inventory.getId())
+                .map(row -> new ProductStoreKey(row.getProductId(), row.getStoreId()))
+                .orElse(null);
         inventoryMonitoringRepository.save(inventory);
+        latestSnapshotService.inventorySaved(inventory, previousKey);
+        latestSnapshotCache.inventorySaved(inventory, previousKey);
         return new ResponseEntity<>(inventory, HttpStatus.OK);
     }
 
-    public List<Inventory> getAllStockLevels(String productId, String storeId) {
-        return inventoryMonitoringRepository.findByProductIdAndStoreId(productId,storeId);
-    }
-
 //    public ResponseEntity<?> checkInventory(String productId, String storeId, int predictedSales) {
 //        Inventory latestInveto=inventoryMonitoringRepository.findTopByProductIdAndStoreIdOrderByIdDesc(productId,storeId);
 //        if(latestInveto!=null){
@@ -0,0 +1,168 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.Multi_Agent.Retail_Inventory.repository.InventoryMonitoringRepository;
+import com.Multi_Agent.Retail_Inventory.repository.PricingOptimizationRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the newest Inventory and Pricing row per (productId, storeId), so predictions
+ * do not run an ORDER BY over the history tables on every call.
+ *
+ * Writes made through this application replace the cached entry when they are newer or edit it;
+ * bulk loads drop the whole cache for that table. The TTL bounds how long rows written elsewhere
+ * (another replica, a manual insert) can stay invisible. Missing keys are cached as empty so unknown
+ * products do not hit the database either.
+ */
+@Component
+public class LatestSnapshotCache {
+
+    @Autowired
+    private InventoryMonitoringRepository inventoryMonitoringRepository;
+    @Autowired
+    private PricingOptimizationRepository pricingOptimizationRepository;
+
+    private final LoadingCache<ProductStoreKey, Optional<Inventory>> inventory;
+    private final LoadingCache<ProductStoreKey, Optional<Pricing>> pricing;
+
+    public LatestSnapshotCache(MeterRegistry meterRegistry,
+                               @Value("${snapshot.cache.max-size:100000}") long maxSize,
+                               @Value("${snapshot.cache.ttl:5m}") Duration ttl) {
+        this.inventory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(loader((productId, storeId) -> inventoryMonitoringRepository.findLatest(productId, storeId),
+                        (productIds, storeIds) -> inventoryMonitoringRepository.findLatestIn(productIds, storeIds),
+                        row -> new ProductStoreKey(row.getProductId(), row.getStoreId())));
+        this.pricing = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(loader((productId, storeId) -> pricingOptimizationRepository.findLatest(productId, storeId),
+                        (productIds, storeIds) -> pricingOptimizationRepository.findLatestIn(productIds, storeIds),
+                        row -> new ProductStoreKey(row.getProductId(), row.getStoreId())));
+        CaffeineCacheMetrics.monitor(meterRegistry, inventory, "latestInventory");
+        CaffeineCacheMetrics.monitor(meterRegistry, pricing, "latestPricing");
+    }
+
+    // Single-key misses use findLatest; getAll() misses are resolved together with one findLatestIn query
+    private static <T> CacheLoader<ProductStoreKey, Optional<T>> loader(BiFunction<String, String, T> findOne,
+                                                                       BiFunction<String[], String[], List<T>> findMany,
+                                                                       Function<T, ProductStoreKey> keyOf) {
+        return new CacheLoader<>() {
+            @Override
+            public Optional<T> load(ProductStoreKey key) {
+                return Optional.ofNullable(findOne.apply(key.productId(), key.storeId()));
+            }
+
+            @Override
+            public Map<ProductStoreKey, Optional<T>> loadAll(Set<? extends ProductStoreKey> keys) {
+                String[] productIds = keys.stream().map(ProductStoreKey::productId).toArray(String[]::new);
+                String[] storeIds = keys.stream().map(ProductStoreKey::storeId).toArray(String[]::new);
+                Map<ProductStoreKey, Optional<T>> loaded = new HashMap<>();
+                keys.forEach(key -> loaded.put(key, Optional.empty()));
+                for (T row : findMany.apply(productIds, storeIds)) {
+                    loaded.put(keyOf.apply(row), Optional.of(row));
+                }
+                return loaded;
+            }
+        };
+    }
+
+    public Inventory latestInventory(String productId, String storeId) {
+        return inventory.get(new ProductStoreKey(productId, storeId)).orElse(null);
+    }
+
+    public Pricing latestPricing(String productId, String storeId) {
+        return pricing.get(new ProductStoreKey(productId, storeId)).orElse(null);
+    }
+
+    public Map<ProductStoreKey, Inventory> latestInventories(Collection<ProductStoreKey> keys) {
+        return present(inventory.getAll(keys));
+    }
+
+    public Map<ProductStoreKey, Pricing> latestPricings(Collection<ProductStoreKey> keys) {
+        return present(pricing.getAll(keys));
+    }
+
+    private static <T> Map<ProductStoreKey, T> present(Map<ProductStoreKey, Optional<T>> entries) {
+        Map<ProductStoreKey, T> rows = new HashMap<>();
+        entries.forEach((key, row) -> row.ifPresent(value -> rows.put(key, value)));
+        return rows;
+    }
+
+    /**
+     * A row was inserted or edited; {@code previousKey} is the key it had before, null for a new row. An
+     * edit of the cached row replaces it, and a row moved to another key drops the entry it left. Inside
+     * a transaction this happens once it commits, so a rolled-back write never reaches the cache.
+     */
+    public void inventorySaved(Inventory saved, ProductStoreKey previousKey) {
+        afterCommit(() -> {
+            ProductStoreKey key = new ProductStoreKey(saved.getProductId(), saved.getStoreId());
+            inventory.asMap().compute(key, (k, cached) ->
+                    cached == null || isCurrent(saved.getId(), cached.map(Inventory::getId)) ? Optional.of(saved) : cached);
+            if (LatestSnapshotService.moved(previousKey, key.productId(), key.storeId())) {
+                inventory.invalidate(previousKey);
+            }
+        });
+    }
+
+    public void pricingSaved(Pricing saved, ProductStoreKey previousKey) {
+        afterCommit(() -> {
+            ProductStoreKey key = new ProductStoreKey(saved.getProductId(), saved.getStoreId());
+            pricing.asMap().compute(key, (k, cached) ->
+                    cached == null || isCurrent(saved.getId(), cached.map(Pricing::getId)) ? Optional.of(saved) : cached);
+            if (LatestSnapshotService.moved(previousKey, key.productId(), key.storeId())) {
+                pricing.invalidate(previousKey);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public void bulkLoaded(Class<?> type) {
+        if (type == Inventory.class) {
+            inventory.invalidateAll();
+        } else if (type == Pricing.class) {
+            pricing.invalidateAll();
+        }
+    }
+
+    // The same id is an edit of the cached row itself
+    private static boolean isCurrent(Long savedId, Optional<Long> cachedId) {
+        return cachedId.isEmpty() || savedId >= cachedId.get();
+    }
+}
@@ -0,0 +1,105 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.Multi_Agent.Retail_Inventory.repository.LatestSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the latest_snapshot table in step with the history tables. Single-row writes upsert their key;
+ * bulk loads fold in everything above the id the table had before the load. A scheduled reconcile
+ * folds in whatever both missed (a write that failed after its row committed, a load that died before
+ * its refresh). Each pass folds the ids above the highest id seen by the pass before last, so a row
+ * still in flight during one pass is caught by the next; the first two after startup cover everything.
+ */
+@Service
+public class LatestSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestSnapshotService.class);
+
+    @Autowired
+    private LatestSnapshotRepository latestSnapshotRepository;
+
+    private static final List<Class<?>> TYPES = List.of(Demand.class, Inventory.class, Pricing.class);
+
+    // Per type: the highest id seen by the pass before last and by the last pass
+    private final Map<Class<?>, long[]> watermarks = new HashMap<>();
+
+    public void demandSaved(Demand demand) {
+        if (demand.getProductId() != null && demand.getStoreId() != null) {
+            latestSnapshotRepository.recordDemand(demand.getProductId(), demand.getStoreId(),
+                    demand.getId(), demand.getDate());
+        }
+    }
+
+    /** {@code previousKey} is the key the row had before this save, null for a new row. */
+    public void inventorySaved(Inventory inventory, ProductStoreKey previousKey) {
+        if (moved(previousKey, inventory.getProductId(), inventory.getStoreId())) {
+            latestSnapshotRepository.recomputeInventory(previousKey.productId(), previousKey.storeId());
+        }
+        if (inventory.getProductId() != null && inventory.getStoreId() != null) {
+            latestSnapshotRepository.recordInventory(inventory.getProductId(), inventory.getStoreId(), inventory.getId());
+        }
+    }
+
+    public void pricingSaved(Pricing pricing, ProductStoreKey previousKey) {
+        if (moved(previousKey, pricing.getProductId(), pricing.getStoreId())) {
+            latestSnapshotRepository.recomputePricing(previousKey.productId(), previousKey.storeId());
+        }
+        if (pricing.getProductId() != null && pricing.getStoreId() != null) {
+            latestSnapshotRepository.recordPricing(pricing.getProductId(), pricing.getStoreId(), pricing.getId());
+        }
+    }
+
+    static boolean moved(ProductStoreKey previousKey, String productId, String storeId) {
+        return previousKey != null && !previousKey.equals(new ProductStoreKey(productId, storeId));
+    }
+
+    public int refresh(Class<?> type, long afterId) {
+        if (type == Demand.class) {
+            return latestSnapshotRepository.refreshDemand(afterId);
+        } else if (type == Inventory.class) {
+            return latestSnapshotRepository.refreshInventory(afterId);
+        } else if (type == Pricing.class) {
+            return latestSnapshotRepository.refreshPricing(afterId);
+        }
+        throw new IllegalArgumentException("No snapshot column for " + type.getSimpleName());
+    }
+
+    @Scheduled(fixedDelayString = "${latest-snapshot.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        try {
+            int keys = 0;
+            for (Class<?> type : TYPES) {
+                long[] seen = watermarks.getOrDefault(type, new long[2]);
+                long maxId = maxId(type);
+                keys += refresh(type, seen[0]);
+                watermarks.put(type, new long[] {seen[1], maxId});
+            }
+            if (keys > 0) {
+                log.debug("Reconciled latest_snapshot with the history tables ({} upserts)", keys);
+            }
+        } catch (RuntimeException e) {
+            log.warn("latest_snapshot reconcile failed, retrying next interval", e);
+        }
+    }
+
+    private long maxId(Class<?> type) {
+        if (type == Demand.class) {
+            return latestSnapshotRepository.maxDemandId();
+        } else if (type == Inventory.class) {
+            return latestSnapshotRepository.maxInventoryId();
+        }
+        return latestSnapshotRepository.maxPricingId();
+    }
+}
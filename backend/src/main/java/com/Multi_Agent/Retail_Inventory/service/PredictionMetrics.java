@@ -0,0 +1,62 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers for the prediction pipeline. {@code retail.predictions} covers one whole prediction, tagged
+ * with the pipeline that ran it (api, api_sequential, batch, reactive, job); {@code retail.predictions.stage}
+ * covers each step inside it (history_lookup, forecast, inventory_lookup, pricing_lookup, reorder, pricing).
+ * Both publish percentile histograms, so latency SLOs can be set per stage.
+ */
+@Component
+public class PredictionMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public <T> T pipeline(String pipeline, Supplier<T> work) {
+        return pipelineTimer(pipeline).record(work);
+    }
+
+    public <T> T stage(String stage, Supplier<T> work) {
+        return stageTimer(stage).record(work);
+    }
+
+    /** Times {@code work} from subscription until it completes, errors or is cancelled. */
+    public <T> Mono<T> pipeline(String pipeline, Mono<T> work) {
+        return timed(pipelineTimer(pipeline), work);
+    }
+
+    public <T> Mono<T> stage(String stage, Mono<T> work) {
+        return timed(stageTimer(stage), work);
+    }
+
+    private <T> Mono<T> timed(Timer timer, Mono<T> work) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return work.doFinally(signal -> sample.stop(timer));
+        });
+    }
+
+    private Timer pipelineTimer(String pipeline) {
+        return Timer.builder("retail.predictions")
+                .description("End-to-end time of one prediction")
+                .tag("pipeline", pipeline)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("retail.predictions.stage")
+                .description("Time spent in one step of a prediction")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
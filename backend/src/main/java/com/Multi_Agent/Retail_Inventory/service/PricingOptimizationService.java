@@ -2,29 +2,36 @@ package com.Multi_Agent.Retail_Inventory.service;
 
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
 import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
 import com.Multi_Agent.Retail_Inventory.repository.PricingOptimizationRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 
 @Service
 public class PricingOptimizationService {
     @Autowired
     private PricingOptimizationRepository pricingOptimizationRepository;
     @Autowired
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private LatestSnapshotService latestSnapshotService;
+    @Autowired
     private AIModelService AIModelService;
+    @Transactional
     public ResponseEntity<?> addProduct(Pricing pricing) {
+        ProductStoreKey previousKey = pricing.getId() == null ? null : pricingOptimizationRepository.findById(pricing.getId())
+                .map(row -> new ProductStoreKey(row.getProductId(), row.getStoreId()))
+                .orElse(null);
         pricingOptimizationRepository.save(pricing);
+        latestSnapshotService.pricingSaved(pricing, previousKey);
+        latestSnapshotCache.pricingSaved(pricing, previousKey);
         return new ResponseEntity<>(pricing, HttpStatus.OK);
     }
 
-    public List<Pricing> getAllPrices(String productId, String storeId) {
-        return pricingOptimizationRepository.findByProductIdAndStoreId(productId,storeId);
-    }
-
 //    public ResponseEntity<?> optimizePricing(String productId, String storeId, String strategy) {
 //        Pricing latestPricing=pricingOptimizationRepository.findTopByProductIdAndStoreIdOrderByIdDesc(productId,storeId);
 //        if(latestPricing!=null){
@@ -0,0 +1,237 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link String#format} pattern parsed once into literal text and typed slots, then rendered without
+ * the Formatter: no regex scan of the pattern, no per-call Formatter, and one pre-sized buffer per
+ * prompt. Supports the conversions the agent prompts use ({@code %s}, {@code %d}, {@code %b},
+ * {@code %.Nf} and {@code %%}) and renders the same text as {@code String.format(Locale.ROOT, ...)}.
+ *
+ * {@link #writeJsonString} writes a rendered prompt as a JSON string straight to a request stream,
+ * escaping quotes, backslashes and control characters.
+ */
+public final class PromptTemplate {
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    // Typical width of a rendered value, used to size the buffer so it never has to grow
+    private static final int SLOT_ESTIMATE = 16;
+
+    private final String pattern;
+    private final String[] literals;
+    private final char[] conversions;
+    private final int[] precisions;
+    private final int capacity;
+
+    private PromptTemplate(String pattern, List<String> literals, List<Character> conversions, List<Integer> precisions) {
+        this.pattern = pattern;
+        this.literals = literals.toArray(String[]::new);
+        this.conversions = new char[conversions.size()];
+        this.precisions = new int[precisions.size()];
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        for (int i = 0; i < this.conversions.length; i++) {
+            this.conversions[i] = conversions.get(i);
+            this.precisions[i] = precisions.get(i);
+        }
+        this.capacity = length + SLOT_ESTIMATE * this.conversions.length;
+    }
+
+    public static PromptTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Character> conversions = new ArrayList<>();
+        List<Integer> precisions = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == pattern.length()) {
+                throw new IllegalArgumentException("Dangling % at the end of " + pattern);
+            }
+            char conversion = pattern.charAt(i);
+            int precision = -1;
+            if (conversion == '%') {
+                literal.append('%');
+                continue;
+            }
+            if (conversion == '.') {
+                int start = ++i;
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                    i++;
+                }
+                if (i == start || i == pattern.length() || pattern.charAt(i) != 'f') {
+                    throw new IllegalArgumentException("Only %.<n>f has a precision, in " + pattern);
+                }
+                precision = Integer.parseInt(pattern, start, i, 10);
+                if (precision >= POWERS_OF_TEN.length) {
+                    throw new IllegalArgumentException("Precision " + precision + " is too large, in " + pattern);
+                }
+                conversion = 'f';
+            } else if (conversion != 's' && conversion != 'd' && conversion != 'b') {
+                throw new IllegalArgumentException("Unsupported conversion %" + conversion + " in " + pattern);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            conversions.add(conversion);
+            precisions.add(precision);
+        }
+        literals.add(literal.toString());
+        return new PromptTemplate(pattern, literals, conversions, precisions);
+    }
+
+    public String render(Object... args) {
+        StringBuilder out = new StringBuilder(capacity);
+        render(out, args);
+        return out.toString();
+    }
+
+    public void render(StringBuilder out, Object... args) {
+        if (args.length != conversions.length) {
+            throw new IllegalArgumentException("Expected " + conversions.length + " arguments for " + pattern
+                    + " but got " + args.length);
+        }
+        for (int i = 0; i < conversions.length; i++) {
+            out.append(literals[i]);
+            Object arg = args[i];
+            switch (conversions[i]) {
+                case 's' -> out.append(arg);
+                case 'b' -> out.append(arg instanceof Boolean bool ? bool.booleanValue() : arg != null);
+                case 'd' -> {
+                    if (arg == null) {
+                        out.append("null");
+                    } else if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                        out.append(((Number) arg).longValue());
+                    } else {
+                        throw new IllegalArgumentException("%d needs an integral value, got " + arg.getClass().getName());
+                    }
+                }
+                default -> {
+                    if (arg == null) {
+                        // Formatter applies the precision to "null" as a width limit ("%.2f" prints "nu")
+                        out.append("null", 0, Math.min(4, precisions[i]));
+                    } else if (arg instanceof Double || arg instanceof Float) {
+                        appendFixed(out, ((Number) arg).doubleValue(), precisions[i]);
+                    } else {
+                        throw new IllegalArgumentException("%f needs a floating point value, got " + arg.getClass().getName());
+                    }
+                }
+            }
+        }
+        out.append(literals[conversions.length]);
+    }
+
+    // Formatter semantics: HALF_UP on the shortest decimal representation, sign kept for negative zero
+    static void appendFixed(StringBuilder out, double value, int precision) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        if (Math.copySign(1.0, value) < 0) {
+            out.append('-');
+        }
+        double magnitude = Math.abs(value);
+        long factor = POWERS_OF_TEN[precision];
+        double scaled = magnitude * factor;
+        double fraction = scaled - Math.floor(scaled);
+        if (scaled >= 1e15 || Math.abs(fraction - 0.5) < 1e-6) {
+            // Too large for a long, or close enough to a tie that binary rounding could differ
+            out.append(BigDecimal.valueOf(magnitude).setScale(precision, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long units = Math.round(scaled);
+        out.append(units / factor);
+        if (precision > 0) {
+            out.append('.');
+            long decimals = units % factor;
+            for (long digit = factor / 10; digit > 1 && decimals < digit; digit /= 10) {
+                out.append('0');
+            }
+            out.append(decimals);
+        }
+    }
+
+    /** Writes {@code value} as a quoted, escaped JSON string in UTF-8, through a small local buffer. */
+    public static void writeJsonString(CharSequence value, OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.min(value.length() + 16, 4096) + 8];
+        int n = 0;
+        buffer[n++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            if (n > buffer.length - 8) {
+                out.write(buffer, 0, n);
+                n = 0;
+            }
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[n++] = '\\';
+                buffer[n++] = (byte) c;
+            } else if (c < 0x20) {
+                n = escapeControl(buffer, n, c);
+            } else if (c < 0x80) {
+                buffer[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[n++] = (byte) (0xC0 | c >> 6);
+                buffer[n++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[n++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[n++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[n++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[n++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable as UTF-8, but valid as a JSON escape
+                n = unicodeEscape(buffer, n, c);
+            } else {
+                buffer[n++] = (byte) (0xE0 | c >> 12);
+                buffer[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[n++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        buffer[n++] = '"';
+        out.write(buffer, 0, n);
+    }
+
+    private static int escapeControl(byte[] buffer, int n, char c) {
+        char shortForm = switch (c) {
+            case '\n' -> 'n';
+            case '\r' -> 'r';
+            case '\t' -> 't';
+            case '\b' -> 'b';
+            case '\f' -> 'f';
+            default -> 0;
+        };
+        if (shortForm == 0) {
+            return unicodeEscape(buffer, n, c);
+        }
+        buffer[n++] = '\\';
+        buffer[n++] = (byte) shortForm;
+        return n;
+    }
+
+    private static int unicodeEscape(byte[] buffer, int n, char c) {
+        buffer[n++] = '\\';
+        buffer[n++] = 'u';
+        buffer[n++] = HEX[c >> 12 & 0xF];
+        buffer[n++] = HEX[c >> 8 & 0xF];
+        buffer[n++] = HEX[c >> 4 & 0xF];
+        buffer[n++] = HEX[c & 0xF];
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
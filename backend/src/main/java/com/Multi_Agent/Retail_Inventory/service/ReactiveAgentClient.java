@@ -0,0 +1,112 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.config.AgentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link AgentClient}, on WebClient over Reactor Netty. Calls share the
+ * response cache, circuit breakers and retry policy with the blocking client (see
+ * {@link AgentResilience#decorate}) and the same {@code agent.requests} timer; a call that still fails
+ * yields {@link AgentClient#ERROR_RESPONSE}. The connection pool is sized from {@code agent.http.*}
+ * and each endpoint keeps its own read timeout as the response timeout.
+ */
+@Component
+public class ReactiveAgentClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAgentClient.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE = new ParameterizedTypeReference<>() {};
+
+    @Autowired
+    private AgentProperties agentProperties;
+    @Autowired
+    private AgentResilience agentResilience;
+    @Autowired
+    private AgentResponseCache agentResponseCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    private final Map<AgentEndpoint, WebClient> webClients = new EnumMap<>(AgentEndpoint.class);
+    private ConnectionProvider connectionProvider;
+
+    @PostConstruct
+    void init() {
+        AgentProperties.Http http = agentProperties.getHttp();
+        connectionProvider = ConnectionProvider.builder("agents")
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireTimeout(http.getConnectionRequestTimeout())
+                .maxIdleTime(http.getKeepAlive())
+                .build();
+        for (AgentEndpoint endpoint : AgentEndpoint.values()) {
+            Duration readTimeout = agentProperties.endpoint(endpoint.path()).getReadTimeout();
+            HttpClient httpClient = HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                    .responseTimeout(readTimeout != null ? readTimeout : http.getReadTimeout());
+            webClients.put(endpoint, webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .build());
+        }
+    }
+
+    public String url(AgentEndpoint endpoint) {
+        return agentProperties.getBaseUrl() + "/" + endpoint.path();
+    }
+
+    /**
+     * Sends {@code query} to the agent and emits its JSON response, or {@code {"error": ...}} if the
+     * call failed. Never errors.
+     */
+    public Mono<Map<String, Object>> call(AgentEndpoint endpoint, String query) {
+        String url = url(endpoint);
+        return Mono.fromFuture(() -> agentResponseCache.getAsync(url, query, () ->
+                        agentResilience.decorate(endpoint, post(endpoint, url, query))
+                                .onErrorResume(e -> {
+                                    log.warn("Error calling AI Model {}: {}", endpoint.path(), e.toString());
+                                    return Mono.empty();
+                                })
+                                .toFuture()))
+                .defaultIfEmpty(AgentClient.ERROR_RESPONSE);
+    }
+
+    // Errors on any failure so the breaker and retry see it
+    private Mono<Map<String, Object>> post(AgentEndpoint endpoint, String url, String query) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClients.get(endpoint).post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("query", query))
+                    .retrieve()
+                    .bodyToMono(RESPONSE_TYPE)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Agent returned an empty body")))
+                    .doOnSuccess(response -> sample.stop(AgentClient.requestTimer(meterRegistry, endpoint, "success")))
+                    .doOnError(e -> sample.stop(AgentClient.requestTimer(meterRegistry, endpoint, "error")));
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        connectionProvider.dispose();
+    }
+}
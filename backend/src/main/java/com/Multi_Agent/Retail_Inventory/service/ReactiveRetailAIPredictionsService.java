@@ -0,0 +1,107 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.Pricing;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Same predictions as {@link RetailAIPredictionsService} and {@link TestService}, composed as a Mono
+ * chain on {@link ReactiveAgentClient}, so no thread waits on an agent. The blocking JPA snapshot
+ * lookups run on the prediction executor while the forecast call is in flight.
+ */
+@Service
+public class ReactiveRetailAIPredictionsService {
+    @Autowired
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private ReactiveAgentClient reactiveAgentClient;
+    @Autowired
+    private ExecutorService predictionExecutor;
+    @Autowired
+    private PredictionMetrics predictionMetrics;
+
+    private Scheduler lookupScheduler;
+
+    @PostConstruct
+    void init() {
+        lookupScheduler = Schedulers.fromExecutorService(predictionExecutor, "snapshot-lookups");
+    }
+
+    public Mono<Map<String, Object>> allAIPredictions(Demand demand, String month, String strategy) {
+        Mono<Optional<Inventory>> inventoryLookup = lookup("inventory_lookup",
+                () -> latestSnapshotCache.latestInventory(demand.getProductId(), demand.getStoreId()));
+        Mono<Optional<Pricing>> pricingLookup = lookup("pricing_lookup",
+                () -> latestSnapshotCache.latestPricing(demand.getProductId(), demand.getStoreId()));
+        Mono<Map<String, Object>> prediction = Mono.zip(predictSales(demand, month), inventoryLookup, pricingLookup)
+                .flatMap(results -> {
+                    Map<String, Object> response = new HashMap<>();
+                    if (!(results.getT1().get("forecast") instanceof Map<?, ?> forecastData)
+                            || !(forecastData.get("predicted_demand") instanceof Number predicted)) {
+                        response.put("forecast", Map.of("error", "Forecast data not available."));
+                        return Mono.just(response);
+                    }
+                    response.put("forecast", forecastData);
+                    int predictedDemand = predicted.intValue();
+
+                    Inventory latestInventory = results.getT2().orElse(null);
+                    if (latestInventory == null) {
+                        response.put("inventory", Map.of("error", "Inventory data not available."));
+                        return Mono.just(response);
+                    }
+                    Mono<Object> reorder = latestInventory.getStockLevels() < predictedDemand
+                            ? predictReorderAmt(latestInventory, predictedDemand)
+                                    .map(reorderResponse -> reorderResponse.getOrDefault("reorder_prediction", reorderResponse))
+                            : Mono.just(Map.of("message", "Stock is sufficient, no reorder needed."));
+                    Mono<Object> pricing = results.getT3()
+                            .map(latestPricing -> optimizePrice(latestPricing, strategy)
+                                    .map(pricingResponse -> pricingResponse.getOrDefault("prediction", pricingResponse)))
+                            .orElseGet(() -> Mono.just(Map.of("error", "Pricing data not available.")));
+                    return Mono.zip(reorder, pricing).map(calls -> {
+                        response.put("inventory", calls.getT1());
+                        response.put("pricing", calls.getT2());
+                        return response;
+                    });
+                });
+        return predictionMetrics.pipeline("reactive", prediction);
+    }
+
+    public Mono<Map<String, Object>> predictSales(Demand demand, String month) {
+        return Mono.defer(() -> predictionMetrics.stage("forecast",
+                reactiveAgentClient.call(AgentEndpoint.FORECAST, AgentPrompts.sales(demand, month))));
+    }
+
+    public Mono<Map<String, Object>> predictReorderAmt(Inventory latestInveto, int predictedDemand) {
+        return Mono.defer(() -> predictionMetrics.stage("reorder",
+                reactiveAgentClient.call(AgentEndpoint.INVENTORY, AgentPrompts.reorder(latestInveto, predictedDemand))));
+    }
+
+    public Mono<Map<String, Object>> optimizePrice(Pricing latestPricing, String strategy) {
+        return Mono.defer(() -> predictionMetrics.stage("pricing",
+                reactiveAgentClient.call(AgentEndpoint.PRICING, AgentPrompts.pricing(latestPricing, strategy))));
+    }
+
+    /** Like {@link TestService#optimizePrice}: prices the latest snapshot for the posted product and store. */
+    public Mono<Map<String, Object>> optimizeLatestPrice(Pricing pricing, String strategy) {
+        return lookup("pricing_lookup", () -> latestSnapshotCache.latestPricing(pricing.getProductId(), pricing.getStoreId()))
+                .flatMap(latestPricing -> latestPricing
+                        .map(found -> optimizePrice(found, strategy))
+                        .orElseGet(() -> Mono.just(Map.of("error", "Pricing data not available."))));
+    }
+
+    private <T> Mono<Optional<T>> lookup(String stage, Callable<T> query) {
+        return predictionMetrics.stage(stage, Mono.fromCallable(() -> Optional.ofNullable(query.call()))
+                .subscribeOn(lookupScheduler));
+    }
+}
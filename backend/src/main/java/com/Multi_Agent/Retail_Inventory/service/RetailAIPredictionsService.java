@@ -3,31 +3,160 @@ package com.Multi_Agent.Retail_Inventory.service;
 import com.Multi_Agent.Retail_Inventory.model.Demand;
 import com.Multi_Agent.Retail_Inventory.model.Inventory;
 import com.Multi_Agent.Retail_Inventory.model.Pricing;
-import com.Multi_Agent.Retail_Inventory.repository.InventoryMonitoringRepository;
-import com.Multi_Agent.Retail_Inventory.repository.PricingOptimizationRepository;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Service
 public class RetailAIPredictionsService {
-    private static final String FORECAST_URL = "https://falcon-sincere-gelding.ngrok-free.app/forecast";
-    private static final String INVENTORY_URL = "https://falcon-sincere-gelding.ngrok-free.app/inventory";
-    private static final String PRICING_URL = "https://falcon-sincere-gelding.ngrok-free.app/priceOptimization";
-
-    private final RestTemplate restTemplate = new RestTemplate();
-
     @Autowired
-    private InventoryMonitoringRepository inventoryMonitoringRepository;
+    private LatestSnapshotCache latestSnapshotCache;
+    @Autowired
+    private AgentClient agentClient;
+    @Autowired
+    private ExecutorService predictionExecutor;
+    @Autowired
+    private PredictionMetrics predictionMetrics;
+    @Autowired
+    private ForecastRouter forecastRouter;
 
     @Autowired
-    private PricingOptimizationRepository pricingOptimizationRepository;
+    private ObjectMapper objectMapper;
+
+    @Value("${retail.predictions.async:true}")
+    private boolean async;
+    @Value("${retail.batch.max-concurrency:32}")
+    private int batchConcurrency;
 
     public Map<String, Object> allAIPredictions(Demand demand, String month, String strategy) {
+        if (!async) {
+            return predictionMetrics.pipeline("api_sequential", () -> allAIPredictionsSequentially(demand, month, strategy));
+        }
+        return predictionMetrics.pipeline("api", () -> {
+            CompletableFuture<Inventory> inventoryLookup = CompletableFuture.supplyAsync(
+                    () -> latestInventory(demand), predictionExecutor);
+            CompletableFuture<Pricing> pricingLookup = CompletableFuture.supplyAsync(
+                    () -> latestPricing(demand), predictionExecutor);
+            return allAIPredictionsConcurrently(demand, month, strategy, inventoryLookup, pricingLookup);
+        });
+    }
+
+    /**
+     * Runs {@link #allAIPredictions} for every demand and writes each result to {@code out} as one NDJSON
+     * line as soon as it finishes, so lines arrive in completion order; each carries its product_id and
+     * store_id. Inventory and pricing snapshots for the whole batch are resolved up front with one
+     * multi-key query each, and at most {@code retail.batch.max-concurrency} predictions run at once.
+     */
+    public void streamBatchPredictions(List<Demand> demands, String month, String strategy, OutputStream out)
+            throws IOException {
+        List<ProductStoreKey> keys = demands.stream()
+                .filter(demand -> demand.getProductId() != null && demand.getStoreId() != null)
+                .map(demand -> new ProductStoreKey(demand.getProductId(), demand.getStoreId()))
+                .distinct()
+                .toList();
+        Map<ProductStoreKey, Inventory> inventories = predictionMetrics.stage("batch_inventory_lookup",
+                () -> latestSnapshotCache.latestInventories(keys));
+        Map<ProductStoreKey, Pricing> prices = predictionMetrics.stage("batch_pricing_lookup",
+                () -> latestSnapshotCache.latestPricings(keys));
+
+        Semaphore permits = new Semaphore(batchConcurrency);
+        CompletionService<Map<String, Object>> completed = new ExecutorCompletionService<>(predictionExecutor);
+        List<Future<Map<String, Object>>> pending = new ArrayList<>(demands.size());
+        for (Demand demand : demands) {
+            ProductStoreKey key = new ProductStoreKey(demand.getProductId(), demand.getStoreId());
+            pending.add(completed.submit(() -> {
+                permits.acquire();
+                try {
+                    return batchItem(demand, month, strategy, inventories.get(key), prices.get(key));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < demands.size(); i++) {
+                out.write(objectMapper.writeValueAsBytes(completed.take().get()));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming batch predictions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Client went away or something broke: stop the predictions that have not run yet
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Map<String, Object> batchItem(Demand demand, String month, String strategy,
+                                          Inventory latestInventory, Pricing latestPricing) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("product_id", demand.getProductId());
+        line.put("store_id", demand.getStoreId());
+        try {
+            line.putAll(predictionMetrics.pipeline("batch", () -> allAIPredictionsConcurrently(demand, month, strategy,
+                    CompletableFuture.completedFuture(latestInventory), CompletableFuture.completedFuture(latestPricing))));
+        } catch (RuntimeException e) {
+            line.put("error", e.toString());
+        }
+        return line;
+    }
+
+    /**
+     * Same result as {@link #allAIPredictionsSequentially}, but the snapshot lookups run while the
+     * forecast call is in flight, and the reorder and pricing calls (which do not depend on each other)
+     * run in parallel. Latency is roughly forecast + max(reorder, pricing) instead of the sum.
+     */
+    private Map<String, Object> allAIPredictionsConcurrently(Demand demand, String month, String strategy,
+                                                             CompletableFuture<Inventory> inventoryLookup,
+                                                             CompletableFuture<Pricing> pricingLookup) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> forecastData = (Map<String, Object>) predictSales(demand, month).get("forecast");
+        if (forecastData == null || !forecastData.containsKey("predicted_demand")) {
+            response.put("forecast", Map.of("error", "Forecast data not available."));
+            return response;
+        }
+        response.put("forecast", forecastData);
+        int predictedDemand = (int) forecastData.get("predicted_demand");
+
+        Inventory latestInventory = inventoryLookup.join();
+        if (latestInventory == null) {
+            response.put("inventory", Map.of("error", "Inventory data not available."));
+            return response;
+        }
+        CompletableFuture<Object> reorder = latestInventory.getStockLevels() < predictedDemand
+                ? CompletableFuture.supplyAsync(() -> predictReorderAmt(latestInventory, predictedDemand)
+                        .get("reorder_prediction"), predictionExecutor)
+                : CompletableFuture.completedFuture(Map.of("message", "Stock is sufficient, no reorder needed."));
+        CompletableFuture<Object> pricing = pricingLookup.thenApplyAsync(
+                latestPricing -> optimizePrice(latestPricing, strategy).get("prediction"), predictionExecutor);
+
+        response.put("inventory", reorder.join());
+        response.put("pricing", pricing.join());
+        return response;
+    }
+
+    private Map<String, Object> allAIPredictionsSequentially(Demand demand, String month, String strategy) {
         Map<String, Object> response = new HashMap<>();
 
         // Step 1: Forecast Prediction
@@ -40,8 +169,7 @@ public class RetailAIPredictionsService {
             int predictedDemand = (int) forecastData.get("predicted_demand");
 
             // Step 2: Check Inventory
-            Inventory latestInventory = inventoryMonitoringRepository
-                    .findTopByProductIdAndStoreIdOrderByIdDesc(demand.getProductId(), demand.getStoreId());
+            Inventory latestInventory = latestInventory(demand);
 
             if (latestInventory != null) {
                 int currentStock = latestInventory.getStockLevels();
@@ -51,13 +179,13 @@ public class RetailAIPredictionsService {
                     Map<String, Object> reorderData = (Map<String, Object>) reorderResponse.get("reorder_prediction");
                     response.put("inventory", reorderData);
 
-                    Map<String, Object> pricingResponse = optimizePrice(demand, strategy);
+                    Map<String, Object> pricingResponse = optimizePrice(latestPricing(demand), strategy);
                     Map<String, Object> pricingData = (Map<String, Object>) pricingResponse.get("prediction");
                     response.put("pricing", pricingData);
                 } else {
                     response.put("inventory", Map.of("message", "Stock is sufficient, no reorder needed."));
 
-                    Map<String, Object> pricingResponse = optimizePrice(demand, strategy);
+                    Map<String, Object> pricingResponse = optimizePrice(latestPricing(demand), strategy);
                     Map<String, Object> pricingData = (Map<String, Object>) pricingResponse.get("prediction");
                     response.put("pricing", pricingData);
                 }
@@ -72,57 +200,32 @@ public class RetailAIPredictionsService {
         return response;
     }
 
-    private Map<String, Object> optimizePrice(Demand demand, String strategy) {
-        Pricing latestPricing = pricingOptimizationRepository
-                .findTopByProductIdAndStoreIdOrderByIdDesc(demand.getProductId(), demand.getStoreId());
-        String query = String.format(
-                "Predict optimal price for Product ID: %s in Store ID: %s. Current Price: %.2f" +
-                        "Considering Following Factors Competitor Prices: %.2f,Discounts: %.2f,Sales Volume: %d, Customer Reviews: %s, Return Rate: %.2f, Strorage Cost: %.2f, Elasticity Index: %.2f,Strategy :%s",
-                latestPricing.getProductId(),latestPricing.getStoreId(),latestPricing.getPrice(),
-                latestPricing.getCompetitorPrices(),latestPricing.getDiscounts(),
-                latestPricing.getSalesVolume(),latestPricing.getCustomerReviews(),
-                latestPricing.getReturnRate(), latestPricing.getStorageCost(),latestPricing.getElasticityIndex(),strategy
-        );
-        return getAIPrediction(PRICING_URL,query);
+    private Inventory latestInventory(Demand demand) {
+        return predictionMetrics.stage("inventory_lookup",
+                () -> latestSnapshotCache.latestInventory(demand.getProductId(), demand.getStoreId()));
     }
 
-    private Map<String, Object> predictReorderAmt(Inventory latestInveto, int predictedDemand) {
-        String query = String.format(
-                "Predict stock reorder amount for Product ID: %s in Store ID: %s. Supplier Lead Time: %d, Stockout Frequency: %d, " +
-                        "Reorder Point: %d, Expiry Date: %s, Warehouse Capacity: %d, Order Fullfillment Time: %d, Predicted sales: %d.",
-                latestInveto.getProductId(), latestInveto.getStoreId(),
-                latestInveto.getSupplierLeadTime(),latestInveto.getStockoutFrequency(),
-                latestInveto.getReorderPoint(),latestInveto.getExpiryDate(),
-                latestInveto.getWarehouseCapacity(),latestInveto.getOrderFulfillmentTime(),predictedDemand
-        );
-        return getAIPrediction(INVENTORY_URL,query);
+    private Pricing latestPricing(Demand demand) {
+        return predictionMetrics.stage("pricing_lookup",
+                () -> latestSnapshotCache.latestPricing(demand.getProductId(), demand.getStoreId()));
     }
 
-    private Map<String, Object> predictSales(Demand demand, String month) {
-            String query = String.format(
-                    "Predict sales quantity for Product ID: %s in Store ID: %s, Current Sales: %d, Price: %.2f, " +
-                            "Promotions: %s, Seasonality: %s, External Factors: %s, Demand Trend: %s, Customer Segment: %s of month: %s.",
-                    demand.getProductId(), demand.getStoreId(), demand.getSalesQuantity(),
-                    demand.getPrice(), demand.getPromotions(), demand.getSeasonalityFactors(),
-                    demand.getExternalFactors(), demand.getDemandTrend(), demand.getCustomerSegments(),month
-            );
-            return getAIPrediction(FORECAST_URL, query);
+    private Map<String, Object> optimizePrice(Pricing latestPricing, String strategy) {
+        String query = AgentPrompts.pricing(latestPricing, strategy);
+        return predictionMetrics.stage("pricing", () -> agentClient.call(AgentEndpoint.PRICING, query));
     }
-    private Map<String, Object> getAIPrediction(String url, String query) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            String requestBody = String.format("{\"query\": \"%s\"}", query);
 
-            HttpEntity<String> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, request, Map.class);
+    private Map<String, Object> predictReorderAmt(Inventory latestInveto, int predictedDemand) {
+        String query = AgentPrompts.reorder(latestInveto, predictedDemand);
+        return predictionMetrics.stage("reorder", () -> agentClient.call(AgentEndpoint.INVENTORY, query));
+    }
 
-            if (response.getBody() != null) {
-                return response.getBody();
-            }
-        } catch (Exception e) {
-            System.err.println("Error calling AI Model: " + e.getMessage());
+    private Map<String, Object> predictSales(Demand demand, String month) {
+        Optional<AgentResponses.Forecast> local = forecastRouter.localForecast(demand);
+        if (local.isPresent()) {
+            return Map.of("forecast", local.get().toResponse(demand.getProductId(), demand.getStoreId(), month));
         }
-        return Map.of("error", "Unable to get AI prediction.");
+        String query = AgentPrompts.sales(demand, month);
+        return predictionMetrics.stage("forecast", () -> agentClient.call(AgentEndpoint.FORECAST, query));
     }
 }
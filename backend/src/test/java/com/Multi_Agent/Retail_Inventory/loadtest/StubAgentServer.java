@@ -0,0 +1,216 @@
+package com.Multi_Agent.Retail_Inventory.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for the agent service (Agents/index.ts) for tests and load tests: same routes, including the
+ * batch routes, and responses of the same shape, with configurable latency and error rate. Point the
+ * backend at it with {@code agent.base-url=http://localhost:<port>}; port 0 picks a free one.
+ *
+ * <pre>
+ * --port=6000             listen port
+ * --latency-p50=800ms     median response time
+ * --latency-p99=3s        99th percentile (latency is log-normal between the two)
+ * --error-rate=0.0        fraction of queries answered with HTTP 500 / an error result
+ * </pre>
+ *
+ * The knobs can be changed while running: {@code POST /_config?error-rate=0.5&latency-p50=2s}.
+ * {@code GET /_stats} returns request and error counts.
+ */
+public class StubAgentServer {
+
+    private static final Pattern KEY = Pattern.compile("Product ID: (\\S+?) in Store ID: ([^,.\\s]+)");
+    private static final double Z_99 = 2.326;
+    private static final TypeReference<Map<String, Object>> REQUEST_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile Duration latencyP50;
+    private volatile Duration latencyP99;
+    private volatile double errorRate;
+
+    public StubAgentServer(int port, Duration latencyP50, Duration latencyP99, double errorRate) throws IOException {
+        this.latencyP50 = latencyP50;
+        this.latencyP99 = latencyP99;
+        this.errorRate = errorRate;
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        route("forecast", this::forecast);
+        route("inventory", this::reorder);
+        route("priceOptimization", this::pricing);
+        server.createContext("/_config", this::config);
+        server.createContext("/_stats", exchange -> respond(exchange, 200, stats()));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public static void main(String[] argv) throws IOException {
+        Args args = Args.parse(argv);
+        StubAgentServer stub = new StubAgentServer(args.integer("port", 6000),
+                args.duration("latency-p50", Duration.ofMillis(800)), args.duration("latency-p99", Duration.ofSeconds(3)),
+                args.decimal("error-rate", 0.0));
+        stub.start();
+        System.out.printf("Stub agent server on port %d (p50 %s, p99 %s, error rate %.3f)%n",
+                stub.port(), stub.latencyP50, stub.latencyP99, stub.errorRate);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** HTTP requests served, a batch counting once. */
+    public long requests() {
+        return requests.get();
+    }
+
+    /** Queries answered with an error. */
+    public long errors() {
+        return errors.get();
+    }
+
+    private void route(String path, Function<String, Map<String, Object>> agent) {
+        server.createContext("/" + path, exchange -> {
+            requests.incrementAndGet();
+            Map<String, Object> body = objectMapper.readValue(exchange.getRequestBody(), REQUEST_TYPE);
+            if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+                List<Map<String, Object>> results = new ArrayList<>();
+                sleep();
+                for (Object query : (List<?>) body.get("queries")) {
+                    results.add(failNow() ? errorBody() : agent.apply(String.valueOf(query)));
+                }
+                respond(exchange, 200, Map.of("results", results));
+                return;
+            }
+            sleep();
+            if (failNow()) {
+                respond(exchange, 500, errorBody());
+            } else {
+                respond(exchange, 200, agent.apply(String.valueOf(body.get("query"))));
+            }
+        });
+    }
+
+    private Map<String, Object> forecast(String query) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int predicted = random.nextInt(50, 500);
+        Map<String, Object> forecast = keyOf(query);
+        forecast.put("month", "stub");
+        forecast.put("predicted_demand", predicted);
+        forecast.put("confidence_interval", List.of(predicted * 9 / 10, predicted * 11 / 10));
+        forecast.put("method_used", "Exponential Smoothing");
+        return Map.of("forecast", forecast);
+    }
+
+    private Map<String, Object> reorder(String query) {
+        Map<String, Object> reorder = keyOf(query);
+        reorder.put("recommended_order", ThreadLocalRandom.current().nextInt(10, 400));
+        reorder.put("justification", "Stub: predicted sales exceed stock on hand plus supplier lead time.");
+        return Map.of("reorder_prediction", reorder);
+    }
+
+    private Map<String, Object> pricing(String query) {
+        double price = 10 + ThreadLocalRandom.current().nextInt(0, 9000) / 100.0;
+        Map<String, Object> prediction = keyOf(query);
+        prediction.put("current_price", price);
+        prediction.put("suggested_price", Math.round(price * 105) / 100.0);
+        prediction.put("projected_profit_margin", "18%");
+        prediction.put("strategy_alignment", "Stub: aligned with requested strategy");
+        prediction.put("risk_level", "Low");
+        return Map.of("prediction", prediction);
+    }
+
+    private static Map<String, Object> keyOf(String query) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        Matcher matcher = KEY.matcher(query);
+        if (matcher.find()) {
+            fields.put("product_id", matcher.group(1));
+            fields.put("store_id", matcher.group(2));
+        }
+        return fields;
+    }
+
+    private boolean failNow() {
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errors.incrementAndGet();
+            return true;
+        }
+        queries.incrementAndGet();
+        return false;
+    }
+
+    private static Map<String, Object> errorBody() {
+        return Map.of("error", "An error occurred while processing your request.");
+    }
+
+    // Log-normal latency with the configured median and 99th percentile
+    private void sleep() {
+        double median = latencyP50.toNanos();
+        double sigma = Math.max(0, Math.log(latencyP99.toNanos() / median) / Z_99);
+        long nanos = (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void config(HttpExchange exchange) throws IOException {
+        String query = URI.create(exchange.getRequestURI().toString()).getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                String[] kv = pair.split("=", 2);
+                switch (kv[0]) {
+                    case "error-rate" -> errorRate = Double.parseDouble(kv[1]);
+                    case "latency-p50" -> latencyP50 = Args.parseDuration(kv[1]);
+                    case "latency-p99" -> latencyP99 = Args.parseDuration(kv[1]);
+                    default -> {
+                        respond(exchange, 400, Map.of("error", "Unknown knob " + kv[0]));
+                        return;
+                    }
+                }
+            }
+        }
+        respond(exchange, 200, stats());
+    }
+
+    private Map<String, Object> stats() {
+        return Map.of("requests", requests.get(), "queries", queries.get(), "errors", errors.get(),
+                "latency_p50_ms", latencyP50.toMillis(), "latency_p99_ms", latencyP99.toMillis(), "error_rate", errorRate);
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
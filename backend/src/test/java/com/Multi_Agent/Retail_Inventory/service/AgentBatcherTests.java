@@ -0,0 +1,43 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.loadtest.StubAgentServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgentBatcherTests {
+
+    @Test
+    void groupsQueriesAndDemultiplexesResults() throws Exception {
+        StubAgentServer server = new StubAgentServer(0, Duration.ofMillis(1), Duration.ofMillis(5), 0.2);
+        server.start();
+        try (AgentBatcher batcher = new AgentBatcher("http://localhost:" + server.port() + "/forecast/batch",
+                new RestTemplate(), 10, Duration.ofMillis(200))) {
+            List<CompletableFuture<Map<String, Object>>> results = IntStream.range(0, 40)
+                    .mapToObj(i -> batcher.submit("Forecast demand for Product ID: P" + i + " in Store ID: S1."))
+                    .toList();
+
+            int failed = 0;
+            for (int i = 0; i < results.size(); i++) {
+                Map<String, Object> result = results.get(i).join();
+                if (result == null) {
+                    failed++;
+                } else {
+                    assertEquals("P" + i, ((Map<?, ?>) result.get("forecast")).get("product_id"));
+                }
+            }
+            assertEquals(server.errors(), failed);
+            assertTrue(server.requests() <= 5, "sent " + server.requests() + " batches");
+        } finally {
+            server.stop();
+        }
+    }
+}
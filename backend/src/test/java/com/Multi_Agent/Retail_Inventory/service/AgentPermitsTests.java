@@ -0,0 +1,80 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AgentPermitsTests {
+
+    @Test
+    void waitersAreServedInArrivalOrderAcrossBlockingAndReactiveCallers() throws Exception {
+        AgentPermits permits = new AgentPermits("forecast", 1, Duration.ofSeconds(10));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> permits.call(() -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        for (int i = 0; i < 6; i++) {
+            String name = "caller-" + i;
+            if (i % 2 == 0) {
+                Thread.ofVirtual().start(() -> permits.call(() -> order.add(name)));
+            } else {
+                permits.limit(Mono.fromRunnable(() -> order.add(name))).subscribe();
+            }
+            while (permits.waiting() < i + 1) {
+                Thread.onSpinWait();
+            }
+        }
+        permits.limit(Mono.fromRunnable(() -> done.complete(null))).subscribe();
+        release.countDown();
+        holder.join();
+        done.get();
+        // The last caller hands its permit back just after it has run
+        while (permits.available() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(List.of("caller-0", "caller-1", "caller-2", "caller-3", "caller-4", "caller-5"), order);
+        assertEquals(1, permits.available());
+        assertEquals(0, permits.waiting());
+    }
+
+    @Test
+    void aCallerQueuedPastMaxWaitFailsAndLeavesThePermitsIntact() {
+        AgentPermits permits = new AgentPermits("forecast", 1, Duration.ofMillis(50));
+        Disposable held = permits.limit(Mono.never()).subscribe();
+
+        assertThrows(AgentBusyException.class, () -> permits.call(() -> "never"));
+        assertThrows(AgentBusyException.class, () -> permits.limit(Mono.just("never")).block());
+
+        Disposable queued = permits.limit(Mono.just("cancelled")).subscribe();
+        queued.dispose();
+        assertEquals(0, permits.waiting());
+        held.dispose();
+        assertEquals(1, permits.available());
+        assertEquals("next", permits.call(() -> "next"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class AgentResponseCacheTests {
+
+    @Test
+    void shutdownPersistsResponsesForTheNextStart(@TempDir Path dir) {
+        String file = dir.resolve("agent-cache.json").toString();
+        AgentResponseCache cache = newCache(file);
+        cache.get("http://agents/forecast", "Forecast  P1\nS1", () -> Map.of("forecast", Map.of("predicted_demand", 42)));
+
+        cache.shutdown();
+
+        AgentResponseCache restarted = newCache(file);
+        Map<String, Object> response = restarted.get("http://agents/forecast", "Forecast P1 S1", () -> fail("not cached"));
+        assertEquals(Map.of("forecast", Map.of("predicted_demand", 42)), response);
+        restarted.shutdown();
+    }
+
+    private static AgentResponseCache newCache(String file) {
+        AgentResponseCache cache = new AgentResponseCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "file", file);
+        cache.load();
+        return cache;
+    }
+}
@@ -0,0 +1,53 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgentResponsesTests {
+
+    @Test
+    void readsDocumentedShapesAndSkipsUnknownFields() {
+        AgentResponses.Forecast forecast = read("""
+                {"forecast":{"product_id":"P001","store_id":"S01","month":"May 2025","predicted_demand":12300,
+                  "confidence_interval":[11500,13100],"method_used":"Regression Analysis","extra":{"a":[1,2]}}}""",
+                AgentResponses.FORECAST);
+        assertEquals(new AgentResponses.Forecast(12300, 11500, 13100, "Regression Analysis"), forecast);
+
+        AgentResponses.Reorder reorder = read("""
+                {"reorder_prediction":{"product_id":304,"recommended_order":260,"justification":"Low stock"}}""",
+                AgentResponses.REORDER);
+        assertEquals(new AgentResponses.Reorder(260, "Low stock"), reorder);
+
+        AgentResponses.PriceRecommendation pricing = read("""
+                {"prediction":{"current_price":45.00,"suggested_price":47.5,"projected_profit_margin":38,
+                  "strategy_alignment":"Maximize Profit","risk_level":"Moderate"}}""", AgentResponses.PRICING);
+        assertEquals(new AgentResponses.PriceRecommendation(45.0, 47.5, "38", "Maximize Profit", "Moderate"), pricing);
+    }
+
+    @Test
+    void failsFastOnSchemaDrift() {
+        assertSchemaError("Agent returned an error", "{\"error\":\"Agent failed to respond correctly.\"}");
+        assertSchemaError("no forecast section", "{\"prediction\":{}}");
+        assertSchemaError("forecast is not an object", "{\"forecast\":\"Forecast data not available.\"}");
+        assertSchemaError("forecast.predicted_demand should be a number",
+                "{\"forecast\":{\"predicted_demand\":\"lots\",\"confidence_interval\":[1,2]}}");
+        assertSchemaError("missing forecast.confidence_interval", "{\"forecast\":{\"predicted_demand\":5}}");
+        assertSchemaError("more than two bounds",
+                "{\"forecast\":{\"predicted_demand\":5,\"confidence_interval\":[1,2,3]}}");
+        assertSchemaError("Malformed agent response", "{\"forecast\":{\"predicted_demand\":5,");
+    }
+
+    private static void assertSchemaError(String expected, String body) {
+        AgentSchemaException e = assertThrows(AgentSchemaException.class, () -> read(body, AgentResponses.FORECAST));
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+
+    private static <T> T read(String body, AgentResponses.Reader<T> reader) {
+        return AgentResponses.read(body.getBytes(StandardCharsets.UTF_8), reader);
+    }
+}
@@ -0,0 +1,43 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkIngestServiceTests {
+
+    @Test
+    void csvRowsMayQuoteCommasAndNewlinesAndAreReportedByTheLineTheyStartOn() throws Exception {
+        String body = """
+                "Product ID","Store ID","Supplier Lead Time (days)",Stock Levels
+                P1,S1,7,100
+
+                P2,S2,soon,50
+                P3,"S3, north",3,"1"
+                P4,,2,10
+                P5,"S5
+                annex",4,20
+                """;
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        BulkIngestService.RowCounts counts = new BulkIngestService().copyRows(BulkIngestService.INVENTORY,
+                new BufferedReader(new StringReader(body)), BulkIngestService.CSV, copy);
+
+        assertEquals(3, counts.accepted);
+        assertEquals(2, counts.errors.size());
+        assertTrue(counts.errors.get(0).startsWith("line 4: "), counts.errors.get(0));
+        assertEquals("line 6: product_id and store_id are required", counts.errors.get(1));
+        assertEquals(List.of(
+                "\"P1\",\"S1\",100,7,,,,,",
+                "\"P3\",\"S3, north\",1,3,,,,,",
+                "\"P5\",\"S5",
+                "annex\",20,4,,,,,"), copy.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+}
@@ -0,0 +1,177 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.repository.DemandSeriesReader;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DemandSeriesStoreTests {
+
+    /** Serves committed rows with an id above the watermark, like the demand table. */
+    private static class FakeReader extends DemandSeriesReader {
+        record Row(long id, String productId, String storeId, int epochDay, int quantity, double price) {
+        }
+
+        final List<Row> rows = new ArrayList<>();
+
+        @Override
+        public long readAfter(long afterId, PointSink sink) {
+            long lastId = afterId;
+            for (Row row : rows.stream().sorted(Comparator.comparingLong(Row::id)).toList()) {
+                if (row.id() > afterId) {
+                    sink.accept(row.productId(), row.storeId(), row.epochDay(), row.quantity(), row.price());
+                    lastId = row.id();
+                }
+            }
+            return lastId;
+        }
+
+        void add(String productId, String storeId, int epochDay, int quantity) {
+            add(rows.size() + 1, productId, storeId, epochDay, quantity);
+        }
+
+        void add(long id, String productId, String storeId, int epochDay, int quantity) {
+            rows.add(new Row(id, productId, storeId, epochDay, quantity, 9.99));
+        }
+    }
+
+    @Test
+    void appendsIncrementallyAndKeepsEachKeyInDateOrder() {
+        FakeReader reader = new FakeReader();
+        DemandSeriesStore store = store(reader);
+        reader.add("P1", "S1", 100, 10);
+        reader.add("P1", "S1", 130, 20);
+        reader.add("P2", "S1", 100, 7);
+        assertEquals(3, store.refresh());
+        DemandSeriesStore.Points before = store.points("P1", "S1");
+
+        reader.add("P1", "S1", 160, 30);
+        reader.add("P1", "S1", 115, 5);
+        reader.add("P1", "S1", 160, 1);
+        assertEquals(3, store.refresh());
+
+        DemandSeriesStore.Points points = store.points("P1", "S1");
+        assertEquals(5, points.size());
+        assertArrayEquals(new int[]{100, 115, 130, 160, 160}, Arrays.copyOf(points.epochDays(), 5));
+        assertArrayEquals(new double[]{10, 5, 20, 31}, store.dailySales("P1", "S1"));
+        // A view taken before the refresh still reads as it did
+        assertEquals(2, before.size());
+        assertArrayEquals(new int[]{100, 130}, Arrays.copyOf(before.epochDays(), 2));
+        assertEquals(0, store.points("P9", "S1").size());
+    }
+
+    @Test
+    void aggregatesEveryKeyOverTheLastWindow() {
+        FakeReader reader = new FakeReader();
+        DemandSeriesStore store = store(reader);
+        for (int i = 0; i < 6; i++) {
+            reader.add("RISING", "S1", 10 * i, 100 + 20 * i);
+            reader.add("FLAT", "S1", 10 * i, 50);
+        }
+        reader.add("SINGLE", "S2", 0, 5);
+        store.refresh();
+
+        DemandSeriesStore.WindowAggregates aggregates = store.aggregate(3);
+        assertEquals(3, aggregates.size());
+        List<DemandSeriesStore.DemandTrend> trends = store.topTrends(3, 10);
+        assertEquals(2, trends.size());
+        assertEquals(new DemandSeriesStore.DemandTrend("RISING", "S1", 3, 180.0, 2.0), trends.get(0));
+        assertEquals(new DemandSeriesStore.DemandTrend("FLAT", "S1", 3, 50.0, 0.0), trends.get(1));
+        assertTrue(Double.isNaN(aggregates.slopePerDay()[2]));
+    }
+
+    @Test
+    void rebuildsAfterAnExistingRowChanged() {
+        FakeReader reader = new FakeReader();
+        DemandSeriesStore store = store(reader);
+        reader.add("P1", "S1", 100, 10);
+        store.refresh();
+
+        reader.rows.set(0, new FakeReader.Row(1, "P1", "S1", 100, 12, 9.99));
+        store.rowsChanged();
+        store.refresh();
+        assertArrayEquals(new double[]{12}, store.dailySales("P1", "S1"));
+    }
+
+    @Test
+    void periodicRebuildPicksUpRowsCommittedOutOfIdOrder() {
+        FakeReader reader = new FakeReader();
+        DemandSeriesStore store = store(reader);
+        reader.add(1, "P1", "S1", 100, 10);
+        reader.add(3, "P1", "S1", 160, 30);
+        store.refresh();
+
+        // Id 2 commits after id 3 was read: below the watermark, so appending never sees it
+        reader.add(2, "P1", "S1", 130, 20);
+        store.refresh();
+        assertArrayEquals(new double[]{10, 30}, store.dailySales("P1", "S1"));
+
+        ReflectionTestUtils.setField(store, "rebuildInterval", Duration.ZERO);
+        store.refresh();
+        assertArrayEquals(new double[]{10, 20, 30}, store.dailySales("P1", "S1"));
+    }
+
+    @Test
+    void loadsNullPricesAsNaN() throws Exception {
+        // Rows: id, product_id, store_id, epoch_day, sales_quantity, price (null in the second row)
+        Object[][] rows = {{1L, "P1", "S1", 100, 10, 4.5}, {2L, "P1", "S1", 130, 20, null}};
+        int[] row = {-1};
+        boolean[] lastWasNull = {false};
+        ResultSet rs = mock(ResultSet.class);
+        Answer<Object> column = invocation -> {
+            Object value = rows[row[0]][(int) invocation.getArgument(0) - 1];
+            lastWasNull[0] = value == null;
+            return value != null ? value : 0;
+        };
+        when(rs.getString(anyInt())).thenAnswer(column);
+        when(rs.getInt(anyInt())).thenAnswer(column);
+        when(rs.getLong(anyInt())).thenAnswer(column);
+        when(rs.getDouble(anyInt())).thenAnswer(invocation -> ((Number) column.answer(invocation)).doubleValue());
+        when(rs.wasNull()).thenAnswer(invocation -> lastWasNull[0]);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (row[0] = 0; row[0] < rows.length; row[0]++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        DemandSeriesReader reader = new DemandSeriesReader();
+        ReflectionTestUtils.setField(reader, "jdbcTemplate", jdbcTemplate);
+        DemandSeriesStore store = store(reader);
+
+        store.refresh();
+
+        DemandSeriesStore.Points points = store.points("P1", "S1");
+        assertEquals(2, points.size());
+        assertEquals(4.5, points.prices()[0]);
+        assertTrue(Double.isNaN(points.prices()[1]));
+        assertArrayEquals(new double[]{10, 20}, store.dailySales("P1", "S1"));
+    }
+
+    private static DemandSeriesStore store(DemandSeriesReader reader) {
+        DemandSeriesStore store = new DemandSeriesStore();
+        ReflectionTestUtils.setField(store, "demandSeriesReader", reader);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        return store;
+    }
+}
@@ -0,0 +1,50 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastChangeTrackerTests {
+
+    @Test
+    void aBackDatedRowChangesTheFingerprintOfALocallyForecastKey() {
+        DemandSeriesStore store = mock(DemandSeriesStore.class);
+        ForecastRouter router = new ForecastRouter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "demandSeriesStore", store);
+        ReflectionTestUtils.setField(router, "demandForecastingRepository", mock(DemandForecastingRepository.class));
+        ReflectionTestUtils.setField(router, "mode", ForecastRouting.AUTO);
+        when(store.isLoaded()).thenReturn(true);
+        Demand latest = demand(LocalDate.of(2025, 3, 1), 120);
+
+        when(store.dailySales("P1", "S1")).thenReturn(new double[] {100, 110, 120});
+        String before = fingerprint(latest, router);
+        when(store.dailySales("P1", "S1")).thenReturn(new double[] {90, 100, 110, 120});
+        String after = fingerprint(latest, router);
+
+        assertNotEquals(before, after);
+        ReflectionTestUtils.setField(router, "mode", ForecastRouting.AGENT);
+        assertEquals(fingerprint(latest, router), ForecastChangeTracker.fingerprint(latest, null, null, "increase", ""));
+    }
+
+    private static String fingerprint(Demand demand, ForecastRouter router) {
+        return ForecastChangeTracker.fingerprint(demand, null, null, "increase", router.historySignature(demand));
+    }
+
+    private static Demand demand(LocalDate date, int salesQuantity) {
+        Demand demand = new Demand();
+        demand.setProductId("P1");
+        demand.setStoreId("S1");
+        demand.setDate(date);
+        demand.setSalesQuantity(salesQuantity);
+        return demand;
+    }
+}
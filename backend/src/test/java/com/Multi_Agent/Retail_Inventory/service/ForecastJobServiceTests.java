@@ -0,0 +1,314 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartition;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobPartitionId;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobRun;
+import com.Multi_Agent.Retail_Inventory.model.ForecastJobStatus;
+import com.Multi_Agent.Retail_Inventory.model.ProcessedForecastResult;
+import com.Multi_Agent.Retail_Inventory.repository.DemandForecastingRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobCheckpointRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobCheckpointWriter;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobPartitionRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ForecastJobRunRepository;
+import com.Multi_Agent.Retail_Inventory.repository.ProcessedForecastResultWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastJobServiceTests {
+
+    private static final long RUN_ID = 1;
+
+    @Test
+    void aRunKilledMidChunkResumesAfterItsLastCommittedChunk() throws Exception {
+        FakeJobStore store = new FakeJobStore(20, 2);
+        AtomicBoolean killed = new AtomicBoolean();
+        AtomicReference<List<Long>> forecast = new AtomicReference<>(new CopyOnWriteArrayList<>());
+        AIModelService aiModelService = mock(AIModelService.class);
+        when(aiModelService.forecastDemand(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            Demand demand = invocation.getArgument(0);
+            // The node dies while partition 0's second chunk (10, 12, 14, 16) is in flight
+            if (demand.getId() == 10 && killed.compareAndSet(false, true)) {
+                throw new NodeKilled();
+            }
+            forecast.get().add(demand.getId());
+            ProcessedForecastResult result = new ProcessedForecastResult();
+            result.setProductId(demand.getProductId());
+            result.setStoreId(demand.getStoreId());
+            return result;
+        });
+        ForecastJobService service = store.service(aiModelService);
+
+        ReflectionTestUtils.invokeMethod(service, "join", RUN_ID);
+        assertEquals(ForecastJobStatus.FAILED, store.run.getStatus());
+        assertEquals(Set.of(2L, 4L, 6L, 8L), store.checkpoints);
+        assertEquals(8L, store.partitions.get(0).getCursorDemandId());
+
+        List<Long> resumed = new CopyOnWriteArrayList<>();
+        forecast.set(resumed);
+        service.resume(RUN_ID, false);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (store.run.getStatus() != ForecastJobStatus.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(ForecastJobStatus.COMPLETED, store.run.getStatus());
+        List<Long> ids = LongStream.rangeClosed(1, 20).boxed().toList();
+        assertEquals(ids, store.results.stream().map(result -> Long.valueOf(result.getProductId().substring(1)))
+                .sorted().toList());
+        assertEquals(new HashSet<>(ids), store.checkpoints);
+        assertEquals(16, resumed.size());
+        for (long committed : List.of(2L, 4L, 6L, 8L)) {
+            assertFalse(resumed.contains(committed), "re-forecast " + committed);
+        }
+        assertTrue(resumed.contains(10L));
+    }
+
+    /** Stands in for the node going away: not a RuntimeException, so no item is counted as failed. */
+    private static final class NodeKilled extends Error {
+    }
+
+    /**
+     * The run, partition and checkpoint tables in memory, behind mocks of the repositories that own them.
+     * Demand row n belongs to key Pn/S1 and to partition n % partitions.
+     */
+    private static final class FakeJobStore {
+
+        final ForecastJobRun run = new ForecastJobRun();
+        final List<ForecastJobPartition> partitions = new ArrayList<>();
+        final List<Demand> demand = new ArrayList<>();
+        final Set<Long> checkpoints = new HashSet<>();
+        final List<ProcessedForecastResult> results = new ArrayList<>();
+
+        FakeJobStore(int rows, int partitionCount) {
+            run.setId(RUN_ID);
+            run.setName("monthly-March-2025");
+            run.setMonth("March");
+            run.setStrategy("increase");
+            run.setMode(ForecastJobMode.ALL_ROWS.name());
+            run.setPartitions(partitionCount);
+            run.setStatus(ForecastJobStatus.RUNNING);
+            run.setStartedAt(LocalDateTime.now());
+            for (int i = 0; i < partitionCount; i++) {
+                ForecastJobPartition partition = new ForecastJobPartition();
+                partition.setId(new ForecastJobPartitionId(RUN_ID, i));
+                partition.setStatus(ForecastJobStatus.PENDING);
+                partitions.add(partition);
+            }
+            for (long id = 1; id <= rows; id++) {
+                Demand row = new Demand();
+                row.setId(id);
+                row.setProductId("P" + id);
+                row.setStoreId("S1");
+                demand.add(row);
+            }
+        }
+
+        ForecastJobService service(AIModelService aiModelService) {
+            ForecastJobService service = new ForecastJobService(new SimpleMeterRegistry());
+            ForecastJobExecutor executor = new ForecastJobExecutor(new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(executor, "maxInFlight", 4);
+            ReflectionTestUtils.setField(service, "forecastJobExecutor", executor);
+            ReflectionTestUtils.setField(service, "aiModelService", aiModelService);
+            ReflectionTestUtils.setField(service, "demandForecastingRepository", demandRepository());
+            ReflectionTestUtils.setField(service, "forecastJobRunRepository", runRepository());
+            ReflectionTestUtils.setField(service, "forecastJobPartitionRepository", partitionRepository());
+            ReflectionTestUtils.setField(service, "forecastJobCheckpointRepository", checkpointRepository());
+            ReflectionTestUtils.setField(service, "forecastJobCheckpointWriter", checkpointWriter());
+            ReflectionTestUtils.setField(service, "processedForecastResultWriter", resultWriter());
+            ReflectionTestUtils.setField(service, "forecastChangeTracker", changeTracker());
+            ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate());
+            ReflectionTestUtils.setField(service, "chunkSize", 4);
+            ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(5));
+            ReflectionTestUtils.setField(service, "nodeId", "node-a");
+            return service;
+        }
+
+        private DemandForecastingRepository demandRepository() {
+            DemandForecastingRepository repository = mock(DemandForecastingRepository.class);
+            when(repository.findPartitionAfter(anyLong(), anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+                long after = invocation.getArgument(0);
+                int partitionCount = invocation.getArgument(1);
+                int partition = invocation.getArgument(2);
+                int limit = invocation.getArgument(3);
+                return demand.stream()
+                        .filter(row -> row.getId() > after && row.getId() % partitionCount == partition)
+                        .limit(limit)
+                        .toList();
+            });
+            return repository;
+        }
+
+        private ForecastJobRunRepository runRepository() {
+            ForecastJobRunRepository repository = mock(ForecastJobRunRepository.class);
+            when(repository.findById(RUN_ID)).thenAnswer(invocation -> Optional.of(run));
+            when(repository.updateStatus(eq(RUN_ID), any(), any())).thenAnswer(invocation -> {
+                run.setStatus(invocation.getArgument(1));
+                return 1;
+            });
+            when(repository.fail(eq(RUN_ID), anyString(), any())).thenAnswer(invocation -> {
+                run.setStatus(ForecastJobStatus.FAILED);
+                return 1;
+            });
+            when(repository.completeIfDone(eq(RUN_ID), any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    if (run.getStatus() != ForecastJobStatus.RUNNING || partitions.stream()
+                            .anyMatch(partition -> partition.getStatus() != ForecastJobStatus.COMPLETED)) {
+                        return 0;
+                    }
+                    run.setStatus(ForecastJobStatus.COMPLETED);
+                    return 1;
+                }
+            });
+            return repository;
+        }
+
+        private ForecastJobPartitionRepository partitionRepository() {
+            ForecastJobPartitionRepository repository = mock(ForecastJobPartitionRepository.class);
+            when(repository.claim(eq(RUN_ID), anyString(), any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    for (ForecastJobPartition partition : partitions) {
+                        if (partition.getStatus() == ForecastJobStatus.PENDING) {
+                            partition.setStatus(ForecastJobStatus.RUNNING);
+                            partition.setOwner(invocation.getArgument(1));
+                            return Optional.of(copy(partition));
+                        }
+                    }
+                    return Optional.empty();
+                }
+            });
+            when(repository.advance(any(), anyString(), any(), any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    ForecastJobPartition partition = owned(invocation.getArgument(0), invocation.getArgument(1));
+                    if (partition == null) {
+                        return false;
+                    }
+                    Demand last = invocation.getArgument(3);
+                    partition.setCursorDemandId(last.getId());
+                    partition.setCursorProductId(last.getProductId());
+                    partition.setCursorStoreId(last.getStoreId());
+                    return true;
+                }
+            });
+            when(repository.complete(any(), anyString())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    ForecastJobPartition partition = owned(invocation.getArgument(0), invocation.getArgument(1));
+                    if (partition == null) {
+                        return false;
+                    }
+                    partition.setStatus(ForecastJobStatus.COMPLETED);
+                    return true;
+                }
+            });
+            doAnswer(invocation -> {
+                synchronized (this) {
+                    ForecastJobPartition partition = owned(invocation.getArgument(0), invocation.getArgument(1));
+                    if (partition != null) {
+                        partition.setStatus(ForecastJobStatus.PENDING);
+                        partition.setOwner(null);
+                    }
+                    return null;
+                }
+            }).when(repository).release(any(), anyString());
+            return repository;
+        }
+
+        private ForecastJobCheckpointRepository checkpointRepository() {
+            ForecastJobCheckpointRepository repository = mock(ForecastJobCheckpointRepository.class);
+            when(repository.findCompleted(eq(RUN_ID), any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    Collection<Long> ids = invocation.getArgument(1);
+                    return ids.stream().filter(checkpoints::contains).toList();
+                }
+            });
+            return repository;
+        }
+
+        private ForecastJobCheckpointWriter checkpointWriter() {
+            ForecastJobCheckpointWriter writer = mock(ForecastJobCheckpointWriter.class);
+            doAnswer(invocation -> {
+                synchronized (this) {
+                    Collection<Demand> completed = invocation.getArgument(1);
+                    for (Demand row : completed) {
+                        assertTrue(checkpoints.add(row.getId()), "checkpointed twice: " + row.getId());
+                    }
+                    return null;
+                }
+            }).when(writer).writeAll(eq(RUN_ID), any());
+            return writer;
+        }
+
+        private ProcessedForecastResultWriter resultWriter() {
+            ProcessedForecastResultWriter writer = mock(ProcessedForecastResultWriter.class);
+            when(writer.writeAll(any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    Collection<ProcessedForecastResult> written = invocation.getArgument(0);
+                    results.addAll(written);
+                    return written.size();
+                }
+            });
+            return writer;
+        }
+
+        private static ForecastChangeTracker changeTracker() {
+            ForecastChangeTracker tracker = mock(ForecastChangeTracker.class);
+            when(tracker.changes(any(), anyString(), anyString(), anyBoolean())).thenAnswer(invocation ->
+                    new ForecastChangeTracker.ChangeSet(invocation.getArgument(0), Map.of(), List.of(), List.of()));
+            return tracker;
+        }
+
+        private static TransactionTemplate transactionTemplate() {
+            TransactionTemplate template = mock(TransactionTemplate.class);
+            when(template.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            return template;
+        }
+
+        private ForecastJobPartition owned(ForecastJobPartitionId id, String owner) {
+            ForecastJobPartition partition = partitions.get(id.getPartitionNo());
+            return partition.getStatus() == ForecastJobStatus.RUNNING && owner.equals(partition.getOwner())
+                    ? partition : null;
+        }
+
+        private static ForecastJobPartition copy(ForecastJobPartition partition) {
+            ForecastJobPartition copy = new ForecastJobPartition();
+            copy.setId(partition.getId());
+            copy.setStatus(partition.getStatus());
+            copy.setOwner(partition.getOwner());
+            copy.setCursorDemandId(partition.getCursorDemandId());
+            copy.setCursorProductId(partition.getCursorProductId());
+            copy.setCursorStoreId(partition.getCursorStoreId());
+            return copy;
+        }
+    }
+}
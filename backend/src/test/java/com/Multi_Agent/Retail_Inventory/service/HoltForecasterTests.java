@@ -0,0 +1,61 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Demand;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoltForecasterTests {
+
+    @Test
+    void extrapolatesALinearTrendExactly() {
+        HoltForecaster.Fit fit = HoltForecaster.fit(new double[]{100, 110, 120, 130, 140, 150});
+        AgentResponses.Forecast forecast = fit.toForecast();
+
+        assertEquals(160, forecast.predictedDemand());
+        assertEquals(160, forecast.lowerConfidence());
+        assertEquals(160, forecast.upperConfidence());
+        assertEquals(0.0, fit.relativeError(), 1e-9);
+        assertTrue(forecast.methodUsed().startsWith("Holt linear trend"), forecast.methodUsed());
+    }
+
+    @Test
+    void intervalWidensWithNoiseAndNeverGoesNegative() {
+        HoltForecaster.Fit steady = HoltForecaster.fit(new double[]{200, 205, 198, 202, 199, 203, 201});
+        HoltForecaster.Fit erratic = HoltForecaster.fit(new double[]{5, 90, 0, 60, 2, 80, 1});
+
+        AgentResponses.Forecast forecast = steady.toForecast();
+        assertTrue(forecast.lowerConfidence() <= forecast.predictedDemand()
+                && forecast.predictedDemand() <= forecast.upperConfidence());
+        assertTrue(steady.relativeError() < 0.05, "steady " + steady.relativeError());
+        assertTrue(erratic.relativeError() > 0.25, "erratic " + erratic.relativeError());
+        assertEquals(0, erratic.toForecast().lowerConfidence());
+    }
+
+    @Test
+    void seriesIsOrderedByDateAndSumsSameDayRows() {
+        List<Demand> history = List.of(
+                demand(LocalDate.of(2025, 3, 1), 30),
+                demand(LocalDate.of(2025, 1, 1), 10),
+                demand(LocalDate.of(2025, 2, 1), 15),
+                demand(LocalDate.of(2025, 2, 1), 5),
+                demand(null, 99),
+                demand(LocalDate.of(2025, 4, 1), null));
+
+        assertArrayEquals(new double[]{10, 20, 30}, HoltForecaster.series(history));
+        assertThrows(IllegalArgumentException.class, () -> HoltForecaster.fit(new double[]{1, 2}));
+    }
+
+    private static Demand demand(LocalDate date, Integer salesQuantity) {
+        Demand demand = new Demand();
+        demand.setDate(date);
+        demand.setSalesQuantity(salesQuantity);
+        return demand;
+    }
+}
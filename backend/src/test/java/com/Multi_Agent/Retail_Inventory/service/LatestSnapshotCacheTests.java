@@ -0,0 +1,69 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.model.Inventory;
+import com.Multi_Agent.Retail_Inventory.model.ProductStoreKey;
+import com.Multi_Agent.Retail_Inventory.repository.InventoryMonitoringRepository;
+import com.Multi_Agent.Retail_Inventory.repository.PricingOptimizationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LatestSnapshotCacheTests {
+
+    @Test
+    void editsReplaceTheCachedRowAndMovesDropTheKeyTheyLeft() {
+        InventoryMonitoringRepository repository = mock(InventoryMonitoringRepository.class);
+        LatestSnapshotCache cache = new LatestSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "inventoryMonitoringRepository", repository);
+        ReflectionTestUtils.setField(cache, "pricingOptimizationRepository", mock(PricingOptimizationRepository.class));
+        when(repository.findLatest("P1", "S1")).thenReturn(inventory(7L, "P1", "S1", 100));
+        assertEquals(100, cache.latestInventory("P1", "S1").getStockLevels());
+
+        cache.inventorySaved(inventory(7L, "P1", "S1", 80), new ProductStoreKey("P1", "S1"));
+        assertEquals(80, cache.latestInventory("P1", "S1").getStockLevels());
+        cache.inventorySaved(inventory(6L, "P1", "S1", 999), null);
+        assertEquals(80, cache.latestInventory("P1", "S1").getStockLevels());
+
+        when(repository.findLatest("P1", "S1")).thenReturn(null);
+        cache.inventorySaved(inventory(7L, "P2", "S1", 80), new ProductStoreKey("P1", "S1"));
+        assertNull(cache.latestInventory("P1", "S1"));
+        assertEquals(7L, cache.latestInventory("P2", "S1").getId());
+    }
+
+    @Test
+    void writesReachTheCacheOnlyOnceTheirTransactionCommits() {
+        InventoryMonitoringRepository repository = mock(InventoryMonitoringRepository.class);
+        LatestSnapshotCache cache = new LatestSnapshotCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "inventoryMonitoringRepository", repository);
+        when(repository.findLatest("P1", "S1")).thenReturn(inventory(7L, "P1", "S1", 100));
+        cache.latestInventory("P1", "S1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.inventorySaved(inventory(8L, "P1", "S1", 50), null);
+            assertEquals(100, cache.latestInventory("P1", "S1").getStockLevels());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(50, cache.latestInventory("P1", "S1").getStockLevels());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Inventory inventory(Long id, String productId, String storeId, int stockLevels) {
+        Inventory inventory = new Inventory();
+        inventory.setId(id);
+        inventory.setProductId(productId);
+        inventory.setStoreId(storeId);
+        inventory.setStockLevels(stockLevels);
+        return inventory;
+    }
+}
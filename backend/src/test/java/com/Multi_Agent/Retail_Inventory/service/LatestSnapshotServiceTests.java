@@ -0,0 +1,42 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.Multi_Agent.Retail_Inventory.repository.LatestSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LatestSnapshotServiceTests {
+
+    @Test
+    void reconcileFoldsAboveTheWatermarkOfThePassBeforeLast() {
+        LatestSnapshotRepository repository = mock(LatestSnapshotRepository.class);
+        LatestSnapshotService service = new LatestSnapshotService();
+        ReflectionTestUtils.setField(service, "latestSnapshotRepository", repository);
+        when(repository.maxDemandId()).thenReturn(100L, 250L, 400L);
+        when(repository.maxInventoryId()).thenReturn(10L, 20L, 30L);
+        when(repository.maxPricingId()).thenReturn(0L, 0L, 5L);
+
+        service.reconcile();
+        service.reconcile();
+        service.reconcile();
+        service.reconcile();
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).refreshDemand(0);
+        order.verify(repository).refreshInventory(0);
+        order.verify(repository).refreshPricing(0);
+        order.verify(repository).refreshDemand(0);
+        order.verify(repository).refreshInventory(0);
+        order.verify(repository).refreshPricing(0);
+        order.verify(repository).refreshDemand(100);
+        order.verify(repository).refreshInventory(10);
+        order.verify(repository).refreshPricing(0);
+        order.verify(repository).refreshDemand(250);
+        order.verify(repository).refreshInventory(20);
+        order.verify(repository).refreshPricing(0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.Multi_Agent.Retail_Inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PromptTemplateTests {
+
+    @Test
+    void rendersLikeStringFormat() {
+        PromptTemplate template = PromptTemplate.compile(
+                "ID: %s, qty: %d, price: %.2f, rate: %.3f, promo: %b, date: %s, 100%% sure");
+        Object[][] cases = {
+                {"P1", 12, 49.99, 0.05, true, LocalDate.of(2025, 5, 1)},
+                {null, null, null, null, null, null},
+                {"P2", -7, -0.001, 1.0005, "yes", "x"},
+                {"P3", Integer.MAX_VALUE, 0.125, 2.0, false, 3},
+                {"P4", 0L, 1.005, -0.0, Boolean.FALSE, ""},
+                {"P5", 1, 1e17, 123456.7895, true, "\"quoted\"\n"},
+                {"P6", 1, Double.NaN, Double.NEGATIVE_INFINITY, true, "é"},
+                {"P7", 1, 2.675f, 0.0004999, true, "z"},
+        };
+        for (Object[] args : cases) {
+            String expected = String.format(Locale.ROOT, template.toString(), args);
+            assertEquals(expected, template.render(args));
+        }
+    }
+
+    @Test
+    void rendersTheAgentPromptsLikeStringFormat() {
+        Object[] sales = {"P1042", "S12", 150, 49.99, "Yes", "Festival", "None", "Increasing", "Regular", "October"};
+        assertEquals(String.format(Locale.ROOT, AgentPrompts.SALES_PATTERN, sales),
+                PromptTemplate.compile(AgentPrompts.SALES_PATTERN).render(sales));
+        Object[] pricing = {"P1042", "S12", 49.99, 52.0, 5.5, 1200, 4, 0.05, 1.5, 1.2, "increase"};
+        assertEquals(String.format(Locale.ROOT, AgentPrompts.PRICING_PATTERN, pricing),
+                PromptTemplate.compile(AgentPrompts.PRICING_PATTERN).render(pricing));
+    }
+
+    @Test
+    void rejectsWhatItCannotRender() {
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("%x"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("100%"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("%.2d"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("%d").render("text"));
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.compile("%s %s").render("one"));
+    }
+
+    @Test
+    void requestBodyIsValidJsonForAnyQuery() throws Exception {
+        String query = "Segment: \"Students\" \\ Parents\nExternal:\tNone\u0001 café € 😀 \uD800 end";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AgentClient.writeRequestBody(query, out);
+
+        Map<?, ?> body = new ObjectMapper().readValue(out.toByteArray(), Map.class);
+        assertEquals(query, body.get("query"));
+    }
+}